@@ -0,0 +1,92 @@
+package com.expensemate.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stateless token authentication for /api/**, active when
+ * expensemate.security.jwt.enabled=true.
+ *
+ * API clients get a token from POST /api/auth/token and send it as
+ * "Authorization: Bearer". This chain never creates or reads an HTTP session,
+ * so any node can serve any API request without sticky sessions or a shared
+ * session store. Browser pages keep the session-based chain in SecurityConfig.
+ */
+@Configuration
+@ConditionalOnProperty(name = "expensemate.security.jwt.enabled", havingValue = "true")
+public class ApiSecurityConfig {
+
+    @Value("${expensemate.security.jwt.issuer:expensemate}")
+    private String issuer;
+
+    @Value("${expensemate.security.jwt.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Value("${expensemate.security.jwt.key-id:k1}")
+    private String keyId;
+
+    @Value("${expensemate.security.jwt.secret:}")
+    private String secret;
+
+    /**
+     * Key still accepted for verification while tokens signed before a rotation expire
+     */
+    @Value("${expensemate.security.jwt.previous-key-id:}")
+    private String previousKeyId;
+
+    @Value("${expensemate.security.jwt.previous-secret:}")
+    private String previousSecret;
+
+    @Bean
+    public JwtTokenProvider jwtTokenProvider() {
+        if (secret.isBlank()) {
+            throw new IllegalStateException("expensemate.security.jwt.secret must be set to a base64 secret "
+                + "of at least 32 bytes when expensemate.security.jwt.enabled=true");
+        }
+
+        Map<String, String> keys = new LinkedHashMap<>();
+        keys.put(keyId, secret);
+        if (!previousKeyId.isBlank() && !previousSecret.isBlank()) {
+            keys.put(previousKeyId, previousSecret);
+        }
+        return new JwtTokenProvider(issuer, Duration.ofMinutes(ttlMinutes), keyId, keys);
+    }
+
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http, JwtTokenProvider jwtTokenProvider) throws Exception {
+        http
+            .securityMatcher("/api/**")
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers("/api/auth/token").permitAll()
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                .requestMatchers("/api/user/**").hasRole("USER")
+                .anyRequest().authenticated()
+            )
+            .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider), UsernamePasswordAuthenticationFilter.class)
+            .sessionManagement(session -> session
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            )
+            .requestCache(cache -> cache.disable())
+            .exceptionHandling(ex -> ex
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+            )
+            // Bearer tokens are not sent automatically by browsers, so there is no CSRF exposure
+            .csrf(csrf -> csrf.disable());
+
+        return http.build();
+    }
+}
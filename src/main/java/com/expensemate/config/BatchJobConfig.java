@@ -0,0 +1,39 @@
+package com.expensemate.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor for partitioned batch jobs (weekly summaries, etc.)
+ */
+@Configuration
+public class BatchJobConfig {
+    
+    @Value("${expensemate.jobs.executor.pool-size:4}")
+    private int poolSize;
+    
+    @Value("${expensemate.jobs.executor.queue-capacity:64}")
+    private int queueCapacity;
+    
+    /**
+     * Bounded pool: at most pool-size partitions run at once and the rest wait
+     * in the queue. When the queue is full the submitting scheduler thread runs
+     * the partition itself, which throttles submission instead of dropping work.
+     */
+    @Bean(name = "batchJobExecutor")
+    public ThreadPoolTaskExecutor batchJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("batch-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+}
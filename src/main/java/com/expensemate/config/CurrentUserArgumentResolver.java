@@ -0,0 +1,47 @@
+package com.expensemate.config;
+
+import com.expensemate.dto.AuthenticatedUser;
+import com.expensemate.entity.User;
+import com.expensemate.repository.UserRepository;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves @CurrentUser User parameters from the session's AuthenticatedUser.
+ * The entity is looked up by id, which the users second-level cache region
+ * normally answers without touching the database.
+ */
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final UserRepository userRepository;
+
+    public CurrentUserArgumentResolver(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+            && User.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser)) {
+            return null;
+        }
+
+        Long userId = ((AuthenticatedUser) authentication.getPrincipal()).getId();
+        // Deleted since sign-in: the security filters send the request back to the login page
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User no longer exists: " + userId));
+    }
+}
@@ -0,0 +1,40 @@
+package com.expensemate.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor for the dashboard's parallel read queries
+ */
+@Configuration
+public class DashboardConfig {
+
+    @Value("${expensemate.dashboard.executor.pool-size:8}")
+    private int poolSize;
+
+    @Value("${expensemate.dashboard.executor.queue-capacity:200}")
+    private int queueCapacity;
+
+    /**
+     * Every running query holds a pooled connection, so pool-size is also the
+     * most connections dashboards can take at once; keep it well below the
+     * Hikari maximum. When the queue is full the request thread runs the query
+     * itself, degrading to serial assembly instead of failing the page.
+     * Queries keep counting towards the request's N+1 detection.
+     */
+    @Bean(name = "dashboardQueryExecutor")
+    public ThreadPoolTaskExecutor dashboardQueryExecutor(QueryMonitor queryMonitor) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(queryMonitor::propagate);
+        return executor;
+    }
+}
@@ -1,15 +1,23 @@
 package com.expensemate.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.Properties;
+import java.util.concurrent.ThreadPoolExecutor;
 @Configuration
 public class EmailConfig {
     
+    private static final Logger logger = LoggerFactory.getLogger(EmailConfig.class);
+    
     @Value("${spring.mail.host}")
     private String host;
     
@@ -27,6 +35,15 @@ public class EmailConfig {
     
     @Value("${spring.mail.properties.mail.smtp.starttls.enable}")
     private String starttls;
+    
+    @Value("${expensemate.mail.executor.virtual-threads:false}")
+    private boolean virtualThreads;
+    
+    @Value("${expensemate.mail.executor.concurrency:8}")
+    private int concurrency;
+    
+    @Value("${expensemate.mail.executor.queue-capacity:500}")
+    private int queueCapacity;
  
     @Bean
     public JavaMailSender javaMailSender() {
@@ -47,4 +64,35 @@ public class EmailConfig {
         
         return mailSender;
     }
+    
+    /**
+     * Executor for SMTP delivery, which is almost all waiting on the network.
+     * With virtual-threads enabled (Java 21+) every email gets its own virtual
+     * thread; otherwise a platform pool is used. Either way at most
+     * concurrency deliveries run at once so the SMTP relay is not flooded, and
+     * a full executor makes the sender wait rather than dropping mail.
+     */
+    @Bean(name = "mailExecutor")
+    public TaskExecutor mailExecutor() {
+        if (virtualThreads) {
+            if (Runtime.version().feature() >= 21) {
+                SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mail-");
+                executor.setVirtualThreads(true);
+                executor.setConcurrencyLimit(concurrency);
+                executor.setTaskTerminationTimeout(60000);
+                return executor;
+            }
+            logger.warn("Virtual threads need Java 21 or later; using a platform thread pool for mail");
+        }
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
 }
@@ -0,0 +1,46 @@
+package com.expensemate.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the FULLTEXT index used by expense search on startup.
+ *
+ * Hibernate's schema update cannot express FULLTEXT indexes, so the index is
+ * added here when information_schema shows it is missing. InnoDB maintains it
+ * on every insert, update and delete of an expense.
+ */
+@Component
+public class FullTextIndexInitializer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(FullTextIndexInitializer.class);
+
+    public static final String INDEX_NAME = "ft_expenses_description_notes";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = 'expenses' AND index_name = ?",
+                Integer.class, INDEX_NAME);
+
+            if (existing != null && existing > 0) {
+                return;
+            }
+
+            logger.info("Creating full-text index {} on expenses", INDEX_NAME);
+            jdbcTemplate.execute("ALTER TABLE expenses ADD FULLTEXT INDEX " + INDEX_NAME + " (description, notes)");
+        } catch (Exception e) {
+            logger.warn("Could not create full-text index {}: {}", INDEX_NAME, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.expensemate.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Aligns the pooled ID sequences with existing table data on startup.
+ *
+ * MySQL has no native sequences, so Hibernate emulates expense_seq, budget_seq
+ * and badge_seq with single-row tables. Databases created while the tables
+ * still used AUTO_INCREMENT already contain rows, so each sequence is moved
+ * past the current MAX(id) before any new IDs are handed out.
+ *
+ * Runs once every singleton (including the EntityManagerFactory, which
+ * creates the sequence tables) exists, but before the web server and the
+ * scheduler start. If a sequence cannot be aligned, startup fails rather
+ * than letting inserts collide with existing ids.
+ */
+@Component
+public class IdSequenceInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    /**
+     * Must match the allocationSize of the @SequenceGenerator mappings
+     */
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCE_TABLES = Map.of(
+        "expense_seq", "expenses",
+        "budget_seq", "budgets",
+        "badge_seq", "badges"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SEQUENCE_TABLES.forEach(this::alignSequence);
+    }
+
+    private void alignSequence(String sequenceTable, String entityTable) {
+        try {
+            int updated = jdbcTemplate.update(
+                "UPDATE " + sequenceTable + " s " +
+                "JOIN (SELECT COALESCE(MAX(id), 0) + ? AS floor_value FROM " + entityTable + ") t " +
+                "SET s.next_val = t.floor_value WHERE s.next_val < t.floor_value",
+                ALLOCATION_SIZE + 1);
+            if (updated > 0) {
+                logger.info("Advanced {} past existing {} ids", sequenceTable, entityTable);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not align " + sequenceTable + " with " + entityTable, e);
+        }
+    }
+}
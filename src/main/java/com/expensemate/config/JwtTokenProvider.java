@@ -0,0 +1,199 @@
+package com.expensemate.config;
+
+import com.expensemate.dto.AuthenticatedUser;
+import com.expensemate.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Issues and verifies HS256-signed JWTs for the stateless API mode.
+ *
+ * Tokens are signed with the current key and carry its id in the kid header.
+ * A previous key may stay configured during rotation so that tokens signed
+ * with it keep verifying until they expire. Each key is turned into an
+ * initialised Mac once, and every verification clones that prototype instead
+ * of looking up the provider and initialising a new Mac per request.
+ */
+public class JwtTokenProvider {
+
+    private static final String ALGORITHM = "HS256";
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private static final int MIN_KEY_BYTES = 32;
+
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(30);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final Base64.Encoder base64Url = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder base64UrlDecoder = Base64.getUrlDecoder();
+
+    private final String issuer;
+
+    private final Duration ttl;
+
+    private final String signingKeyId;
+
+    private final Map<String, Mac> verifiers = new LinkedHashMap<>();
+
+    /**
+     * @param keys base64-encoded secrets by key id; signingKeyId must be one of them
+     */
+    public JwtTokenProvider(String issuer, Duration ttl, String signingKeyId, Map<String, String> keys) {
+        this.issuer = issuer;
+        this.ttl = ttl;
+        this.signingKeyId = signingKeyId;
+
+        keys.forEach((keyId, secret) -> verifiers.put(keyId, createMac(keyId, secret)));
+        if (!verifiers.containsKey(signingKeyId)) {
+            throw new IllegalArgumentException("No JWT secret configured for signing key " + signingKeyId);
+        }
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Signed token for user, valid for the configured TTL
+     */
+    public String issue(AuthenticatedUser user) {
+        Instant now = Instant.now();
+
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", ALGORITHM);
+        header.put("typ", "JWT");
+        header.put("kid", signingKeyId);
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", issuer);
+        claims.put("sub", user.getUsername());
+        claims.put("uid", user.getId());
+        claims.put("role", user.getRole().name());
+        claims.put("email", user.getEmail());
+        claims.put("name", user.getFullName());
+        claims.put("iat", now.getEpochSecond());
+        claims.put("exp", now.plus(ttl).getEpochSecond());
+
+        String signingInput = encodeJson(header) + "." + encodeJson(claims);
+        return signingInput + "." + base64Url.encodeToString(sign(signingKeyId, signingInput));
+    }
+
+    /**
+     * Principal of a valid token; throws InvalidTokenException for a malformed,
+     * wrongly signed, foreign or expired token
+     */
+    public AuthenticatedUser verify(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            throw new InvalidTokenException("Malformed token");
+        }
+
+        JsonNode header = decodeJson(parts[0]);
+        if (!ALGORITHM.equals(header.path("alg").asText())) {
+            // Never let the token choose its own algorithm (e.g. "none")
+            throw new InvalidTokenException("Unsupported token algorithm");
+        }
+
+        String keyId = header.path("kid").asText(signingKeyId);
+        if (!verifiers.containsKey(keyId)) {
+            throw new InvalidTokenException("Unknown signing key");
+        }
+
+        byte[] expected = sign(keyId, parts[0] + "." + parts[1]);
+        byte[] actual;
+        try {
+            actual = base64UrlDecoder.decode(parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token signature");
+        }
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new InvalidTokenException("Invalid token signature");
+        }
+
+        JsonNode claims = decodeJson(parts[1]);
+        if (!issuer.equals(claims.path("iss").asText())) {
+            throw new InvalidTokenException("Token from another issuer");
+        }
+        if (Instant.ofEpochSecond(claims.path("exp").asLong(0)).plus(CLOCK_SKEW).isBefore(Instant.now())) {
+            throw new InvalidTokenException("Token expired");
+        }
+
+        if (!claims.hasNonNull("uid") || !claims.hasNonNull("sub")) {
+            throw new InvalidTokenException("Invalid token claims");
+        }
+
+        try {
+            return new AuthenticatedUser(claims.path("uid").asLong(), claims.path("sub").asText(),
+                claims.path("email").asText(null), claims.path("name").asText(null), null,
+                User.Role.valueOf(claims.path("role").asText()), true);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid token claims");
+        }
+    }
+
+    private byte[] sign(String keyId, String signingInput) {
+        Mac mac;
+        try {
+            mac = (Mac) verifiers.get(keyId).clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(MAC_ALGORITHM + " provider does not support cloning", e);
+        }
+        return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Mac createMac(String keyId, String secret) {
+        byte[] key = Base64.getDecoder().decode(secret);
+        if (key.length < MIN_KEY_BYTES) {
+            throw new IllegalArgumentException("JWT secret for key " + keyId + " must be at least "
+                + MIN_KEY_BYTES + " bytes");
+        }
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(new SecretKeySpec(key, MAC_ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + MAC_ALGORITHM, e);
+        }
+    }
+
+    private static String encodeJson(Map<String, Object> value) {
+        try {
+            return base64Url.encodeToString(objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise token", e);
+        }
+    }
+
+    private static JsonNode decodeJson(String part) {
+        try {
+            return objectMapper.readTree(base64UrlDecoder.decode(part));
+        } catch (IllegalArgumentException | IOException e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+    }
+
+    /**
+     * A bearer token that cannot be accepted
+     */
+    public static class InvalidTokenException extends RuntimeException {
+        public InvalidTokenException(String message) {
+            super(message);
+        }
+    }
+}
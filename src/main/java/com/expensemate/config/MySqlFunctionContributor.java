@@ -0,0 +1,23 @@
+package com.expensemate.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers MySQL-specific functions for use in JPQL queries.
+ *
+ * match_against(col1, col2, query) renders as a boolean-mode MATCH ... AGAINST
+ * so that dynamic JPQL can use the ft_expenses_description_notes index.
+ * Registered through META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ */
+public class MySqlFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+            "match_against",
+            "match(?1, ?2) against (?3 in boolean mode)",
+            functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+    }
+}
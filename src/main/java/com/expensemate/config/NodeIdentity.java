@@ -0,0 +1,26 @@
+package com.expensemate.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Identifies this application instance among the replicas sharing one database
+ */
+@Component
+public class NodeIdentity {
+    
+    private final String nodeId;
+    
+    public NodeIdentity(@Value("${expensemate.node-id:}") String configuredNodeId) {
+        // Default is "pid@hostname", unique per process even with several instances on one machine
+        this.nodeId = configuredNodeId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName()
+                : configuredNodeId;
+    }
+    
+    public String getNodeId() {
+        return nodeId;
+    }
+}
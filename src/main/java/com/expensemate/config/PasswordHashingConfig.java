@@ -0,0 +1,130 @@
+package com.expensemate.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Password hashing.
+ *
+ * New hashes are written as {bcrypt} or {argon2} according to
+ * expensemate.security.password.algorithm, with the configured cost. Any
+ * stored hash that uses another algorithm or a lower cost, including the
+ * unprefixed BCrypt hashes from before, still verifies and is rehashed on the
+ * user's next successful login. All hashing runs on the bounded
+ * passwordHashingExecutor (see BoundedPasswordEncoder).
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingConfig.class);
+
+    private static final int ARGON2_SALT_LENGTH = 16;
+
+    private static final int ARGON2_HASH_LENGTH = 32;
+
+    private static final int CALIBRATION_ROUNDS = 5;
+
+    @Value("${expensemate.security.password.algorithm:bcrypt}")
+    private String algorithm;
+
+    @Value("${expensemate.security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${expensemate.security.password.argon2-memory-kib:16384}")
+    private int argon2MemoryKib;
+
+    @Value("${expensemate.security.password.argon2-iterations:2}")
+    private int argon2Iterations;
+
+    @Value("${expensemate.security.password.argon2-parallelism:1}")
+    private int argon2Parallelism;
+
+    /**
+     * Concurrent hashes; 0 means one per available core
+     */
+    @Value("${expensemate.security.password.hashing-threads:0}")
+    private int hashingThreads;
+
+    @Value("${expensemate.security.password.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${expensemate.security.password.hash-timeout-ms:5000}")
+    private long hashTimeoutMs;
+
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor() {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(ThreadPoolTaskExecutor passwordHashingExecutor, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder(), passwordHashingExecutor,
+            hashTimeoutMs, meterRegistry);
+    }
+
+    /**
+     * Log how long one hash takes at the configured cost, and the logins per
+     * second per core that implies, to help pick the cost for the hardware
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void calibrate() {
+        PasswordEncoder encoder = delegatingPasswordEncoder();
+        String hash = encoder.encode("calibration-password");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            encoder.matches("calibration-password", hash);
+        }
+        double millisPerHash = (System.nanoTime() - start) / 1_000_000.0 / CALIBRATION_ROUNDS;
+
+        logger.info("Password hashing: {} takes {} ms per login, about {} logins/s per core",
+            describeAlgorithm(), String.format("%.1f", millisPerHash), String.format("%.0f", 1000 / millisPerHash));
+    }
+
+    private PasswordEncoder delegatingPasswordEncoder() {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("argon2", new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH,
+            argon2Parallelism, argon2MemoryKib, argon2Iterations));
+
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password algorithm: " + algorithm
+                + " (expected bcrypt or argon2)");
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Hashes stored before the {id} prefix was introduced are plain BCrypt
+        encoder.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+        return encoder;
+    }
+
+    private String describeAlgorithm() {
+        if ("argon2".equals(algorithm)) {
+            return "argon2 (" + argon2MemoryKib + " KiB, " + argon2Iterations + " iterations, parallelism "
+                + argon2Parallelism + ")";
+        }
+        return "bcrypt (strength " + bcryptStrength + ")";
+    }
+}
@@ -0,0 +1,235 @@
+package com.expensemate.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Watches the SQL that Hibernate executes.
+ *
+ * As a StatementInspector it sees each statement when it is prepared. Within
+ * a web request it counts executions per statement and warns about any
+ * statement repeated often enough to suggest an N+1 access pattern. Its
+ * TimingListener, which Hibernate creates for every session, times each
+ * execution and logs the ones slower than the threshold to the
+ * com.expensemate.sql.slow logger, with their SQL and bind parameter count.
+ */
+public class QueryMonitor implements StatementInspector {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryMonitor.class);
+
+    private static final Logger slowQueryLogger = LoggerFactory.getLogger("com.expensemate.sql.slow");
+
+    /**
+     * Hibernate instantiates session listeners itself, so they find the monitor through this
+     */
+    private static volatile QueryMonitor instance;
+
+    private static final ThreadLocal<String> currentSql = new ThreadLocal<>();
+
+    private static final ThreadLocal<RequestQueries> currentRequest = new ThreadLocal<>();
+
+    private volatile long slowQueryThresholdMs;
+
+    private final int repeatedStatementThreshold;
+
+    private final Counter slowQueries;
+
+    private final Counter repeatedStatements;
+
+    private final DistributionSummary statementsPerRequest;
+
+    public QueryMonitor(MeterRegistry meterRegistry, long slowQueryThresholdMs, int repeatedStatementThreshold) {
+        this.slowQueryThresholdMs = slowQueryThresholdMs;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+        this.slowQueries = Counter.builder("expensemate.sql.slow")
+                .description("Statements slower than the slow-query threshold")
+                .register(meterRegistry);
+        this.repeatedStatements = Counter.builder("expensemate.sql.repeated")
+                .description("Statements repeated within one request often enough to suggest N+1 loading")
+                .register(meterRegistry);
+        this.statementsPerRequest = DistributionSummary.builder("expensemate.sql.statements.per.request")
+                .description("SQL statements executed per web request")
+                .register(meterRegistry);
+        instance = this;
+    }
+
+    public long getSlowQueryThresholdMs() {
+        return slowQueryThresholdMs;
+    }
+
+    /**
+     * Change the slow-query threshold at runtime; 0 or less disables the slow-query log
+     */
+    public void setSlowQueryThresholdMs(long slowQueryThresholdMs) {
+        this.slowQueryThresholdMs = slowQueryThresholdMs;
+    }
+
+    public int getRepeatedStatementThreshold() {
+        return repeatedStatementThreshold;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        currentSql.set(sql);
+        RequestQueries queries = currentRequest.get();
+        if (queries != null) {
+            queries.record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Start counting the statements of a request on the current thread.
+     * Scopes nest: statements counted here also count towards the scope that
+     * was active when this one started.
+     */
+    public RequestQueries startRequest(String description) {
+        RequestQueries queries = new RequestQueries(description, currentRequest.get());
+        currentRequest.set(queries);
+        return queries;
+    }
+
+    /**
+     * Stop counting, restore the enclosing scope and warn about statements
+     * repeated too often
+     */
+    public void finishRequest(RequestQueries queries) {
+        if (queries.parent != null) {
+            currentRequest.set(queries.parent);
+        } else {
+            currentRequest.remove();
+        }
+
+        int total = 0;
+        for (Map.Entry<String, AtomicInteger> execution : queries.executions.entrySet()) {
+            int count = execution.getValue().get();
+            total += count;
+            if (count >= repeatedStatementThreshold) {
+                repeatedStatements.increment();
+                logger.warn("Possible N+1 in {}: {} executions of {}", queries.description, count, execution.getKey());
+            }
+        }
+
+        if (total > 0) {
+            statementsPerRequest.record(total);
+        }
+    }
+
+    /**
+     * Wrap task so statements it runs on another thread count towards the
+     * request that submitted it (used as the TaskDecorator of query executors)
+     */
+    public Runnable propagate(Runnable task) {
+        RequestQueries queries = currentRequest.get();
+        if (queries == null) {
+            return task;
+        }
+        return () -> {
+            // May run on the submitting thread itself (caller-runs rejection)
+            RequestQueries previous = currentRequest.get();
+            currentRequest.set(queries);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    currentRequest.set(previous);
+                } else {
+                    currentRequest.remove();
+                }
+            }
+        };
+    }
+
+    private void statementExecuted(String sql, long elapsedNanos) {
+        long thresholdMs = slowQueryThresholdMs;
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (thresholdMs <= 0 || elapsedMs < thresholdMs || sql == null) {
+            return;
+        }
+
+        slowQueries.increment();
+        RequestQueries queries = currentRequest.get();
+        slowQueryLogger.warn("Slow query: {} ms, {} bind parameters, {}: {}", elapsedMs, countBindParameters(sql),
+            queries != null ? queries.description : "outside a request", sql);
+    }
+
+    /**
+     * Number of ? placeholders outside string literals
+     */
+    private static int countBindParameters(String sql) {
+        int count = 0;
+        boolean inLiteral = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            } else if (c == '?' && !inLiteral) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Statement execution counts of one request; shared with the threads
+     * its dashboard queries run on
+     */
+    public static class RequestQueries {
+        private final String description;
+        private final RequestQueries parent;
+        private final Map<String, AtomicInteger> executions = new ConcurrentHashMap<>();
+
+        RequestQueries(String description, RequestQueries parent) {
+            this.description = description;
+            this.parent = parent;
+        }
+
+        void record(String sql) {
+            executions.computeIfAbsent(sql, key -> new AtomicInteger()).incrementAndGet();
+            if (parent != null) {
+                parent.record(sql);
+            }
+        }
+
+        /**
+         * Statements prepared so far in this scope
+         */
+        public int getStatementCount() {
+            return executions.values().stream().mapToInt(AtomicInteger::get).sum();
+        }
+    }
+
+    /**
+     * Times statement executions of one Hibernate session. Registered via
+     * hibernate.session.events.auto; the SQL is the statement most recently
+     * prepared on the thread, which is the one being executed.
+     */
+    public static class TimingListener implements SessionEventListener {
+
+        private long executeStartNanos = -1;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            executeStartNanos = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            QueryMonitor monitor = instance;
+            if (monitor != null && executeStartNanos >= 0) {
+                monitor.statementExecuted(currentSql.get(), System.nanoTime() - executeStartNanos);
+            }
+            executeStartNanos = -1;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.expensemate.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Scopes QueryMonitor's per-statement counts to one web request
+ */
+public class QueryMonitorFilter extends OncePerRequestFilter {
+
+    private final QueryMonitor queryMonitor;
+
+    public QueryMonitorFilter(QueryMonitor queryMonitor) {
+        this.queryMonitor = queryMonitor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryMonitor.RequestQueries queries = queryMonitor.startRequest(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            queryMonitor.finishRequest(queries);
+        }
+    }
+}
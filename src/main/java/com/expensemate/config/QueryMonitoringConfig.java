@@ -0,0 +1,66 @@
+package com.expensemate.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Collections;
+
+/**
+ * SQL observability: the slow-query log and N+1 warnings of QueryMonitor,
+ * and per-query Hibernate statistics as Micrometer metrics. Session-wide
+ * statistics (hibernate.sessions.open, hibernate.statements, cache hits...)
+ * are published by Spring Boot from hibernate.generate_statistics.
+ */
+@Configuration
+public class QueryMonitoringConfig {
+
+    @Value("${expensemate.sql.slow-query-threshold-ms:500}")
+    private long slowQueryThresholdMs;
+
+    @Value("${expensemate.sql.repeated-statement-threshold:10}")
+    private int repeatedStatementThreshold;
+
+    @Bean
+    public QueryMonitor queryMonitor(MeterRegistry meterRegistry) {
+        return new QueryMonitor(meterRegistry, slowQueryThresholdMs, repeatedStatementThreshold);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryMonitorHibernateCustomizer(QueryMonitor queryMonitor) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryMonitor);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryMonitor.TimingListener.class.getName());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryMonitorFilter> queryMonitorFilter(QueryMonitor queryMonitor) {
+        FilterRegistrationBean<QueryMonitorFilter> registration =
+            new FilterRegistrationBean<>(new QueryMonitorFilter(queryMonitor));
+        registration.addUrlPatterns("/*");
+        // Outermost, so statements issued by the security filters are counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Execution count and timings of each JPQL query, tagged with the query
+     */
+    @Bean
+    public HibernateQueryMetrics hibernateQueryMetrics(EntityManagerFactory entityManagerFactory,
+                                                       MeterRegistry meterRegistry) {
+        HibernateQueryMetrics metrics = new HibernateQueryMetrics(
+            entityManagerFactory.unwrap(SessionFactory.class), "entityManagerFactory", Collections.emptyList());
+        metrics.bindTo(meterRegistry);
+        return metrics;
+    }
+}
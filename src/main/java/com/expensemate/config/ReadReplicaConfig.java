@@ -0,0 +1,122 @@
+package com.expensemate.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read/write splitting across MySQL replicas, active only when
+ * expensemate.datasource.replica-urls is set.
+ *
+ * The primary pool is built from the usual spring.datasource.* properties;
+ * each replica URL gets its own read-only Hikari pool with the same settings.
+ * Transactions marked readOnly = true run on a replica that is within
+ * replica-max-lag-seconds of the primary, and on the primary when none is.
+ * Reads inside a read-write transaction always stay on the primary.
+ *
+ * Connections are released after every transaction, so a request's
+ * open-in-view session does not keep the connection (and routing decision)
+ * of its first transaction for the ones that follow.
+ */
+@Configuration
+@ConditionalOnProperty(name = "expensemate.datasource.replica-urls")
+public class ReadReplicaConfig {
+
+    @Value("${expensemate.datasource.replica-urls}")
+    private List<String> replicaUrls;
+
+    @Value("${expensemate.datasource.replica-username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${expensemate.datasource.replica-password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${expensemate.datasource.replica-pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${expensemate.datasource.replica-max-lag-seconds:5}")
+    private long replicaMaxLagSeconds;
+
+    @Value("${expensemate.datasource.replica-lag-check-enabled:true}")
+    private boolean replicaLagCheckEnabled;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource) {
+        return new ReplicaLagMonitor(createReplicas(primaryDataSource),
+            replicaMaxLagSeconds, replicaLagCheckEnabled);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ReplicaLagMonitor replicaLagMonitor) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaLagMonitor.getReplicas(), replicaLagMonitor);
+    }
+
+    /**
+     * The DataSource used by JPA and JDBC. The lazy proxy delays taking a
+     * connection until the first statement, when the transaction's read-only
+     * flag is known and the routing decision can be made.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Spring's vendor adapter makes Hibernate hold a session's connection until
+     * the session closes. With open-in-view that is the end of the request, so
+     * a write following a read-only lookup would run on the replica connection
+     * the lookup was routed to. Releasing after each transaction lets every
+     * transaction make its own routing decision.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    private Map<String, HikariDataSource> createReplicas(HikariDataSource primary) {
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(replicaUrls.get(i).trim());
+            config.setUsername(replicaUsername);
+            config.setPassword(replicaPassword);
+            config.setPoolName("replica-" + (i + 1));
+            config.setMaximumPoolSize(replicaPoolSize);
+            config.setMinimumIdle(Math.min(config.getMinimumIdle(), replicaPoolSize));
+            config.setReadOnly(true);
+            // A replica that is down at startup is skipped by the lag monitor instead of failing the boot
+            config.setInitializationFailTimeout(-1);
+            replicas.put(config.getPoolName(), new HikariDataSource(config));
+        }
+
+        return replicas;
+    }
+}
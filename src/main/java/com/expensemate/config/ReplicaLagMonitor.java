@@ -0,0 +1,134 @@
+package com.expensemate.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks which read replicas are usable. Each replica's replication lag is
+ * polled from SHOW REPLICA STATUS; a replica that lags more than the allowed
+ * seconds, has stopped replicating or cannot be reached is taken out of
+ * rotation until a later check finds it caught up again.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final Map<String, HikariDataSource> replicas;
+
+    private final List<String> replicaKeys;
+
+    private final long maxLagSeconds;
+
+    private final boolean lagCheckEnabled;
+
+    private final Set<String> healthy = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaLagMonitor(Map<String, HikariDataSource> replicas, long maxLagSeconds, boolean lagCheckEnabled) {
+        this.replicas = replicas;
+        this.replicaKeys = new ArrayList<>(replicas.keySet());
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagCheckEnabled = lagCheckEnabled;
+
+        // Without lag checks (e.g. an H2 stand-in) every replica is always used;
+        // with them, reads stay on the primary until the first check passes
+        if (!lagCheckEnabled) {
+            healthy.addAll(replicaKeys);
+        }
+    }
+
+    /**
+     * Replica pools by routing key
+     */
+    public Map<String, HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Next healthy replica in round-robin order, or null when none is usable
+     */
+    public String selectReplica() {
+        int size = replicaKeys.size();
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get(Math.floorMod(next.getAndIncrement(), size));
+            if (healthy.contains(key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Re-check every replica's lag
+     */
+    @Scheduled(fixedDelayString = "${expensemate.datasource.replica-lag-check-interval-ms:5000}")
+    public void checkReplicas() {
+        if (!lagCheckEnabled) {
+            return;
+        }
+
+        for (Map.Entry<String, HikariDataSource> replica : replicas.entrySet()) {
+            Long lag = measureLag(replica.getKey(), replica.getValue());
+            boolean usable = lag != null && lag <= maxLagSeconds;
+
+            if (usable && healthy.add(replica.getKey())) {
+                logger.info("Read replica {} in rotation (lag {}s)", replica.getKey(), lag);
+            } else if (!usable && healthy.remove(replica.getKey())) {
+                logger.warn("Read replica {} out of rotation (lag {})", replica.getKey(),
+                    lag != null ? lag + "s" : "unknown");
+            }
+        }
+    }
+
+    /**
+     * Replication lag in seconds; null if replication is stopped or the replica is unreachable
+     */
+    private Long measureLag(String key, HikariDataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet status = replicaStatus(statement)) {
+
+            if (!status.next()) {
+                // Not configured as a replica (e.g. a standalone test instance): nothing to lag behind
+                return 0L;
+            }
+
+            Object lag = lagColumn(status);
+            return lag != null ? ((Number) lag).longValue() : null;
+        } catch (SQLException e) {
+            logger.debug("Lag check failed for read replica {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private static ResultSet replicaStatus(Statement statement) throws SQLException {
+        try {
+            return statement.executeQuery("SHOW REPLICA STATUS");
+        } catch (SQLException e) {
+            // MySQL before 8.0.22
+            return statement.executeQuery("SHOW SLAVE STATUS");
+        }
+    }
+
+    private static Object lagColumn(ResultSet status) throws SQLException {
+        try {
+            return status.getObject("Seconds_Behind_Source");
+        } catch (SQLException e) {
+            return status.getObject("Seconds_Behind_Master");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.expensemate.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to a healthy read replica and
+ * everything else to the primary. Must be wrapped in a
+ * LazyConnectionDataSourceProxy, so the connection is fetched at the first
+ * statement, after the transaction's read-only flag has been set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    private final Map<String, HikariDataSource> replicas;
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, HikariDataSource> replicas,
+                                    ReplicaLagMonitor lagMonitor) {
+        this.replicas = replicas;
+        this.lagMonitor = lagMonitor;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            String replica = lagMonitor.selectReplica();
+            return replica != null ? replica : PRIMARY;
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public void destroy() {
+        // Replica pools are not beans themselves; the primary is closed by its own bean
+        replicas.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,100 @@
+package com.expensemate.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors for scheduled jobs, one per job class.
+ *
+ * Scheduler threads only trigger jobs; the work runs on the executor of the
+ * job's class, so a multi-hour bulk job cannot hold up the hourly alerts and
+ * maintenance cannot starve either. Each pool has its own size, queue bound
+ * and rejection policy: "abort" skips the trigger (logged and counted by
+ * JobDispatcher), "caller-runs" runs it on the scheduler thread instead.
+ */
+@Configuration
+public class SchedulerConfig {
+
+    @Value("${expensemate.jobs.bulk.pool-size:2}")
+    private int bulkPoolSize;
+
+    @Value("${expensemate.jobs.bulk.queue-capacity:10}")
+    private int bulkQueueCapacity;
+
+    @Value("${expensemate.jobs.bulk.rejection-policy:abort}")
+    private String bulkRejectionPolicy;
+
+    @Value("${expensemate.jobs.latency.pool-size:2}")
+    private int latencyPoolSize;
+
+    @Value("${expensemate.jobs.latency.queue-capacity:10}")
+    private int latencyQueueCapacity;
+
+    @Value("${expensemate.jobs.latency.rejection-policy:caller-runs}")
+    private String latencyRejectionPolicy;
+
+    @Value("${expensemate.jobs.maintenance.pool-size:1}")
+    private int maintenancePoolSize;
+
+    @Value("${expensemate.jobs.maintenance.queue-capacity:10}")
+    private int maintenanceQueueCapacity;
+
+    @Value("${expensemate.jobs.maintenance.rejection-policy:abort}")
+    private String maintenanceRejectionPolicy;
+
+    /**
+     * Long-running jobs that walk all users (badges, recurring expenses, summaries)
+     */
+    @Bean(name = "bulkJobExecutor")
+    public ThreadPoolTaskExecutor bulkJobExecutor() {
+        return createExecutor("bulk-job-", bulkPoolSize, bulkQueueCapacity, bulkRejectionPolicy);
+    }
+
+    /**
+     * Short jobs users notice when late (budget alerts, reminders)
+     */
+    @Bean(name = "latencyJobExecutor")
+    public ThreadPoolTaskExecutor latencyJobExecutor() {
+        return createExecutor("latency-job-", latencyPoolSize, latencyQueueCapacity, latencyRejectionPolicy);
+    }
+
+    /**
+     * Resets, purges and other housekeeping
+     */
+    @Bean(name = "maintenanceJobExecutor")
+    public ThreadPoolTaskExecutor maintenanceJobExecutor() {
+        return createExecutor("maintenance-job-", maintenancePoolSize, maintenanceQueueCapacity,
+            maintenanceRejectionPolicy);
+    }
+
+    private ThreadPoolTaskExecutor createExecutor(String threadNamePrefix, int poolSize, int queueCapacity,
+                                                  String rejectionPolicy) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(rejectionHandler(rejectionPolicy));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    private static RejectedExecutionHandler rejectionHandler(String policy) {
+        switch (policy.trim().toLowerCase()) {
+            case "abort":
+                return new ThreadPoolExecutor.AbortPolicy();
+            case "caller-runs":
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+            default:
+                // Discard policies would drop a job without releasing its overlap guard
+                throw new IllegalArgumentException("Unsupported job rejection policy: " + policy
+                    + " (expected abort or caller-runs)");
+        }
+    }
+}
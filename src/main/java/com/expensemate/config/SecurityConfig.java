@@ -1,6 +1,8 @@
 package com.expensemate.config;
 
+import com.expensemate.dto.AuthenticatedUser;
 import com.expensemate.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,10 +12,14 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+import org.springframework.security.web.authentication.RememberMeServices;
+import org.springframework.security.web.authentication.rememberme.TokenBasedRememberMeServices;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
 /**
@@ -25,25 +31,54 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
     
+    private static final String REMEMBER_ME_KEY = "expensemate-remember-me";
+    
     @Autowired
     private UserService userService;
   
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private SessionRegistry sessionRegistry;
     
     
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider() {
+            @Override
+            protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                                 UserDetails user) {
+                // The authentication is serialised into the session store; keep the hash out of it
+                Object sessionPrincipal = principal instanceof AuthenticatedUser authenticatedUser
+                        ? authenticatedUser.withoutPassword() : principal;
+                return super.createSuccessAuthentication(sessionPrincipal, authentication, user);
+            }
+        };
         authProvider.setUserDetailsService(userService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Rehash outdated hashes (other algorithm, lower cost) on successful login
+        authProvider.setUserDetailsPasswordService(userService::upgradePasswordHash);
         return authProvider;
     }
     
    
     @Bean
+    public RememberMeServices rememberMeServices() {
+        TokenBasedRememberMeServices rememberMeServices = new TokenBasedRememberMeServices(REMEMBER_ME_KEY, userService) {
+            @Override
+            protected Authentication createSuccessfulAuthentication(HttpServletRequest request, UserDetails user) {
+                // The cookie signature is already checked; keep the hash out of the session here too
+                UserDetails sessionUser = user instanceof AuthenticatedUser authenticatedUser
+                        ? authenticatedUser.withoutPassword() : user;
+                return super.createSuccessfulAuthentication(request, sessionUser);
+            }
+        };
+        rememberMeServices.setTokenValiditySeconds(86400); // 24 hours
+        return rememberMeServices;
+    }
+    
+        @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
     }
@@ -76,6 +111,10 @@ public class SecurityConfig {
                 .requestMatchers("/register", "/login", "/forgot-password").permitAll()
                 .requestMatchers("/css/**", "/js/**", "/images/**", "/webjars/**").permitAll()
                 .requestMatchers("/favicon.ico", "/error").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                
+                // Monitoring endpoints
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 
                 // Admin endpoints
                 .requestMatchers("/admin/**").hasRole("ADMIN")
@@ -112,13 +151,13 @@ public class SecurityConfig {
                 .permitAll()
             )
             .rememberMe(remember -> remember
-                .key("expensemate-remember-me")
-                .tokenValiditySeconds(86400) // 24 hours
-                .userDetailsService(userService)
+                .key(REMEMBER_ME_KEY)
+                .rememberMeServices(rememberMeServices())
             )
             .sessionManagement(session -> session
                 .maximumSessions(1)
                 .maxSessionsPreventsLogin(false)
+                .sessionRegistry(sessionRegistry) // Shared session store, so the limit holds across nodes
                 .expiredUrl("/login?expired=true")
             )
             .exceptionHandling(ex -> ex
@@ -0,0 +1,51 @@
+package com.expensemate.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+
+/**
+ * Configuration for the shared HTTP session store.
+ *
+ * Spring Boot auto-configures Spring Session on the application's MySQL
+ * database (tables from db/session-schema-mysql.sql), so any node can serve
+ * any request without sticky sessions. Only the small AuthenticatedUser
+ * principal, CSRF token and similar attributes are serialised per session.
+ * Expired sessions are removed in batches by the session-cleanup job rather
+ * than by Spring Session's own single-statement cleanup.
+ */
+@Configuration
+public class SessionStoreConfig {
+
+    /**
+     * Time every read and write of the session store (expensemate.session.store)
+     */
+    @Bean
+    public static BeanPostProcessor timedSessionRepositoryPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof JdbcIndexedSessionRepository repository) {
+                    return new TimedSessionRepository<>(repository, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Session registry backed by the session store, so the one-session-per-user
+     * limit holds across all nodes rather than per node
+     */
+    @Bean
+    public SpringSessionBackedSessionRegistry<? extends Session> sessionRegistry(
+            FindByIndexNameSessionRepository<? extends Session> sessionRepository) {
+        return new SpringSessionBackedSessionRegistry<>(sessionRepository);
+    }
+}
@@ -0,0 +1,130 @@
+package com.expensemate.config;
+
+import com.expensemate.entity.JobCheckpoint;
+import com.expensemate.repository.ExpenseRepository;
+import com.expensemate.repository.JobCheckpointRepository;
+import com.expensemate.service.SpendingStreakService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rebuilds the spending streak of every user with expenses, once.
+ *
+ * Streaks are maintained incrementally as expenses are logged, so users whose
+ * expenses predate the spending_streaks table start without one. The backfill
+ * runs in the background after startup on one node at a time (a job
+ * checkpoint with a renewable lease) and resumes after its last processed
+ * user if that node stops. Recomputing a streak is idempotent, so a chunk
+ * repeated after a lost lease does no harm.
+ */
+@Component
+public class SpendingStreakBackfill implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpendingStreakBackfill.class);
+
+    private static final String JOB_NAME = "spending-streak-backfill";
+
+    private static final String RUN_KEY = "initial";
+
+    private static final int CHUNK_SIZE = 200;
+
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private SpendingStreakService spendingStreakService;
+
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
+    @Autowired
+    @Qualifier("batchJobExecutor")
+    private TaskExecutor batchJobExecutor;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        batchJobExecutor.execute(() -> {
+            try {
+                backfill();
+            } catch (Exception e) {
+                // The checkpoint keeps its progress; the next start carries on from there
+                logger.warn("Spending streak backfill stopped: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    private void backfill() {
+        JobCheckpoint checkpoint = loadOrCreateCheckpoint();
+        if (checkpoint.isCompleted()) {
+            return;
+        }
+
+        String node = nodeIdentity.getNodeId();
+        LocalDateTime now = LocalDateTime.now();
+        if (jobCheckpointRepository.claim(checkpoint.getId(), node, now, now.plus(LEASE)) == 0) {
+            // Finished or running on another node
+            return;
+        }
+
+        // Re-read after claiming: a previous owner may have progressed since
+        checkpoint = jobCheckpointRepository.findById(checkpoint.getId())
+                .orElseThrow(() -> new IllegalStateException("Spending streak backfill checkpoint disappeared"));
+
+        long afterId = checkpoint.getLastUserId();
+        int users = 0;
+
+        while (true) {
+            List<Long> userIds = expenseRepository.findUserIdsWithExpensesAfter(afterId, PageRequest.of(0, CHUNK_SIZE));
+            if (userIds.isEmpty()) {
+                break;
+            }
+
+            spendingStreakService.recomputeStreaks(userIds);
+            users += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+
+            now = LocalDateTime.now();
+            if (jobCheckpointRepository.updateProgress(checkpoint.getId(), node, afterId, now, now.plus(LEASE)) == 0) {
+                throw new IllegalStateException("Lost lease on spending streak backfill");
+            }
+
+            if (userIds.size() < CHUNK_SIZE) {
+                break;
+            }
+        }
+
+        jobCheckpointRepository.markCompleted(checkpoint.getId(), node, LocalDateTime.now());
+        logger.info("Rebuilt spending streaks of {} users", users);
+    }
+
+    private JobCheckpoint loadOrCreateCheckpoint() {
+        List<JobCheckpoint> existing = jobCheckpointRepository.findByJobNameAndRunKeyOrderByPartitionIndex(JOB_NAME, RUN_KEY);
+        if (!existing.isEmpty()) {
+            return existing.get(0);
+        }
+
+        try {
+            return jobCheckpointRepository.save(new JobCheckpoint(JOB_NAME, RUN_KEY, 0, 0L, Long.MAX_VALUE));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created it first
+            return jobCheckpointRepository.findByJobNameAndRunKeyOrderByPartitionIndex(JOB_NAME, RUN_KEY).get(0);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.expensemate.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+
+import java.util.Map;
+
+/**
+ * Session repository that times every round trip to the session store.
+ *
+ * Each request that uses its session reads it once and, if anything changed,
+ * writes it back once, so expensemate.session.store latency is added to the
+ * request time of every logged-in page.
+ */
+public class TimedSessionRepository<S extends Session> implements FindByIndexNameSessionRepository<S> {
+
+    private final FindByIndexNameSessionRepository<S> delegate;
+
+    private final Timer readTimer;
+
+    private final Timer writeTimer;
+
+    private final Timer deleteTimer;
+
+    private final Timer findByIndexTimer;
+
+    public TimedSessionRepository(FindByIndexNameSessionRepository<S> delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.readTimer = timer(meterRegistry, "read");
+        this.writeTimer = timer(meterRegistry, "write");
+        this.deleteTimer = timer(meterRegistry, "delete");
+        this.findByIndexTimer = timer(meterRegistry, "find-by-index");
+    }
+
+    @Override
+    public S createSession() {
+        // Only builds the session in memory; it is stored by save
+        return delegate.createSession();
+    }
+
+    @Override
+    public void save(S session) {
+        writeTimer.record(() -> delegate.save(session));
+    }
+
+    @Override
+    public S findById(String id) {
+        return readTimer.record(() -> delegate.findById(id));
+    }
+
+    @Override
+    public void deleteById(String id) {
+        deleteTimer.record(() -> delegate.deleteById(id));
+    }
+
+    @Override
+    public Map<String, S> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        return findByIndexTimer.record(() -> delegate.findByIndexNameAndIndexValue(indexName, indexValue));
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("expensemate.session.store")
+                .description("Time spent reading and writing HTTP sessions in the session store")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.expensemate.controller;
+
+import com.expensemate.entity.JobRun;
+import com.expensemate.service.JobRunService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Admin JSON API for scheduled job execution history
+ */
+@RestController
+@RequestMapping("/api/admin/jobs")
+public class AdminJobController {
+
+    private static final int MAX_RUNS = 500;
+
+    private static final int MAX_TREND_DAYS = 365;
+
+    @Autowired
+    private JobRunService jobRunService;
+
+    /**
+     * Per-job duration and scaling trends over the last days
+     */
+    @GetMapping
+    public ResponseEntity<List<JobRunService.JobTrend>> getTrends(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(jobRunService.getTrends(Math.max(1, Math.min(days, MAX_TREND_DAYS))));
+    }
+
+    /**
+     * Most recent runs of one job, newest first
+     */
+    @GetMapping("/{jobName}/runs")
+    public ResponseEntity<List<JobRun>> getRuns(@PathVariable String jobName,
+                                                @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(jobRunService.getRecentRuns(jobName, Math.max(1, Math.min(limit, MAX_RUNS))));
+    }
+}
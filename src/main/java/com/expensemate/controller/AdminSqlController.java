@@ -0,0 +1,84 @@
+package com.expensemate.controller;
+
+import com.expensemate.config.QueryMonitor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Admin JSON API for SQL diagnostics: turns statement logging on and off and
+ * adjusts the slow-query threshold without a restart
+ */
+@RestController
+@RequestMapping("/api/admin/sql")
+public class AdminSqlController {
+
+    /**
+     * Hibernate logs every statement to this category at DEBUG, whatever spring.jpa.show-sql says
+     */
+    private static final String SQL_LOGGER = "org.hibernate.SQL";
+
+    @Autowired
+    private LoggingSystem loggingSystem;
+
+    @Autowired
+    private QueryMonitor queryMonitor;
+
+    /**
+     * Current SQL logging settings
+     */
+    @GetMapping
+    public ResponseEntity<SqlSettings> getSettings() {
+        return ResponseEntity.ok(currentSettings());
+    }
+
+    /**
+     * Log every SQL statement (enabled=true) or stop doing so
+     */
+    @PutMapping("/statement-logging")
+    public ResponseEntity<SqlSettings> setStatementLogging(@RequestParam boolean enabled) {
+        // null restores the level inherited from configuration
+        loggingSystem.setLogLevel(SQL_LOGGER, enabled ? LogLevel.DEBUG : null);
+        return ResponseEntity.ok(currentSettings());
+    }
+
+    /**
+     * Log statements slower than thresholdMs; 0 turns the slow-query log off
+     */
+    @PutMapping("/slow-query-threshold")
+    public ResponseEntity<SqlSettings> setSlowQueryThreshold(@RequestParam long thresholdMs) {
+        queryMonitor.setSlowQueryThresholdMs(Math.max(0, thresholdMs));
+        return ResponseEntity.ok(currentSettings());
+    }
+
+    private SqlSettings currentSettings() {
+        LoggerConfiguration sqlLogger = loggingSystem.getLoggerConfiguration(SQL_LOGGER);
+        boolean statementLogging = sqlLogger != null && sqlLogger.getEffectiveLevel() != null
+            && sqlLogger.getEffectiveLevel().ordinal() <= LogLevel.DEBUG.ordinal();
+        return new SqlSettings(statementLogging, queryMonitor.getSlowQueryThresholdMs(),
+            queryMonitor.getRepeatedStatementThreshold());
+    }
+
+    /**
+     * Inner class for the SQL logging settings
+     */
+    public static class SqlSettings {
+        private final boolean statementLogging;
+        private final long slowQueryThresholdMs;
+        private final int repeatedStatementThreshold;
+
+        public SqlSettings(boolean statementLogging, long slowQueryThresholdMs, int repeatedStatementThreshold) {
+            this.statementLogging = statementLogging;
+            this.slowQueryThresholdMs = slowQueryThresholdMs;
+            this.repeatedStatementThreshold = repeatedStatementThreshold;
+        }
+
+        // Getters
+        public boolean isStatementLogging() { return statementLogging; }
+        public long getSlowQueryThresholdMs() { return slowQueryThresholdMs; }
+        public int getRepeatedStatementThreshold() { return repeatedStatementThreshold; }
+    }
+}
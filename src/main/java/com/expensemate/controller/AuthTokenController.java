@@ -0,0 +1,70 @@
+package com.expensemate.controller;
+
+import com.expensemate.config.JwtTokenProvider;
+import com.expensemate.dto.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Issues API tokens in stateless mode (expensemate.security.jwt.enabled=true)
+ */
+@RestController
+@RequestMapping("/api/auth")
+@ConditionalOnProperty(name = "expensemate.security.jwt.enabled", havingValue = "true")
+public class AuthTokenController {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    /**
+     * Exchange username (or email) and password for a bearer token
+     */
+    @PostMapping("/token")
+    public ResponseEntity<Map<String, Object>> issueToken(@RequestBody TokenRequest request) {
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(request.getUsername(), request.getPassword()));
+        } catch (AuthenticationServiceException e) {
+            // Password hashing pool saturated
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid credentials"));
+        }
+
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return ResponseEntity.ok(Map.of(
+            "token", jwtTokenProvider.issue(user),
+            "tokenType", "Bearer",
+            "expiresAt", Instant.now().plus(jwtTokenProvider.getTtl()).toString()));
+    }
+
+    /**
+     * Inner class for the token request body
+     */
+    public static class TokenRequest {
+        private String username;
+        private String password;
+
+        // Getters and Setters
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+}
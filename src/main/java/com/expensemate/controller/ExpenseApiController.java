@@ -0,0 +1,158 @@
+package com.expensemate.controller;
+
+import com.expensemate.config.CurrentUser;
+import com.expensemate.dto.ExpenseDto;
+import com.expensemate.dto.ExpenseFilter;
+import com.expensemate.dto.ExpensePageDto;
+import com.expensemate.dto.RecurringExpenseDto;
+import com.expensemate.dto.RecurringExpenseRequest;
+import com.expensemate.entity.Expense;
+import com.expensemate.entity.User;
+import com.expensemate.service.ExpenseBatchService;
+import com.expensemate.service.ExpenseService;
+import com.expensemate.service.RecurringExpenseService;
+import com.expensemate.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * JSON API for expense synchronisation from mobile and offline clients
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class ExpenseApiController {
+    
+    @Autowired
+    private ExpenseBatchService expenseBatchService;
+    
+    @Autowired
+    private SyncService syncService;
+    
+    @Autowired
+    private ExpenseService expenseService;
+    
+    @Autowired
+    private RecurringExpenseService recurringExpenseService;
+    
+    /**
+     * Execute a batch of create/update/delete operations in one transaction
+     */
+    @PostMapping("/expenses:batch")
+    public ResponseEntity<?> executeBatch(@RequestBody List<ExpenseBatchService.BatchOperation> operations,
+                                          @CurrentUser User user) {
+        
+        if (operations.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "No operations supplied"));
+        }
+        
+        if (operations.size() > ExpenseBatchService.MAX_OPERATIONS) {
+            return ResponseEntity.badRequest().body(Map.of("error",
+                "A batch may contain at most " + ExpenseBatchService.MAX_OPERATIONS + " operations"));
+        }
+        
+        return ResponseEntity.ok(expenseBatchService.executeBatch(user, operations));
+    }
+    
+    /**
+     * Get everything that changed since the client's last sync token.
+     * Omitting the token (or sending one older than the tombstone retention)
+     * returns a full snapshot with fullResync=true.
+     */
+    @GetMapping("/sync")
+    public ResponseEntity<SyncService.SyncResponse> sync(@RequestParam(required = false) Long since,
+                                                         @CurrentUser User user) {
+        return ResponseEntity.ok(syncService.getChangesSince(user, since));
+    }
+    
+    /**
+     * Filter expenses by any combination of date range, categories, amount
+     * range and text. Facet counts are returned with the first page only.
+     */
+    @GetMapping("/expenses")
+    public ResponseEntity<?> filterExpenses(@ModelAttribute ExpenseFilter filter,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "50") int size,
+                                            @CurrentUser User user) {
+        
+        try {
+            ExpenseService.ExpensePage page = expenseService.filterExpenses(user, filter, cursor, size);
+            ExpenseService.ExpenseFacets facets = cursor == null ? expenseService.getExpenseFacets(user, filter) : null;
+            return ResponseEntity.ok(ExpensePageDto.from(page, facets));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Ranked search over description and notes with optional filters
+     */
+    @GetMapping("/expenses/search")
+    public ResponseEntity<List<ExpenseDto>> searchExpenses(@RequestParam("q") String query,
+                                                           @RequestParam(required = false) Expense.Category category,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                           @RequestParam(required = false) BigDecimal minAmount,
+                                                           @RequestParam(required = false) BigDecimal maxAmount,
+                                                           @RequestParam(defaultValue = "50") int limit,
+                                                           @CurrentUser User user) {
+        
+        List<ExpenseDto> results = expenseService.searchExpenses(user, query, category, from, to,
+                minAmount, maxAmount, limit).stream()
+                .map(ExpenseDto::from)
+                .collect(Collectors.toList());
+        
+        return ResponseEntity.ok(results);
+    }
+    
+    /**
+     * List recurring expense templates
+     */
+    @GetMapping("/recurring-expenses")
+    public ResponseEntity<List<RecurringExpenseDto>> recurringExpenses(@CurrentUser User user) {
+        return ResponseEntity.ok(recurringExpenseService.getTemplatesByUser(user).stream()
+                .map(RecurringExpenseDto::from)
+                .collect(Collectors.toList()));
+    }
+    
+    /**
+     * Create a recurring expense template; occurrences are generated by the nightly job
+     */
+    @PostMapping("/recurring-expenses")
+    public ResponseEntity<?> createRecurringExpense(@Valid @RequestBody RecurringExpenseRequest request,
+                                                    @CurrentUser User user) {
+        try {
+            return ResponseEntity.ok(RecurringExpenseDto.from(recurringExpenseService.createTemplate(request, user)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Stop a recurring expense template
+     */
+    @DeleteMapping("/recurring-expenses/{id}")
+    public ResponseEntity<?> deactivateRecurringExpense(@PathVariable Long id,
+                                                        @CurrentUser User user) {
+        try {
+            recurringExpenseService.deactivateTemplate(id, user);
+            return ResponseEntity.noContent().build();
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -1,26 +1,41 @@
 package com.expensemate.controller;
 
+import com.expensemate.config.CurrentUser;
+import com.expensemate.dto.AuthenticatedUser;
+import com.expensemate.dto.ExpenseFilter;
 import com.expensemate.entity.Badge;
 import com.expensemate.entity.Budget;
 import com.expensemate.entity.Expense;
 import com.expensemate.entity.User;
 import com.expensemate.service.BadgeService;
 import com.expensemate.service.BudgetService;
+import com.expensemate.service.DashboardService;
+import com.expensemate.service.DataVersionService;
+import com.expensemate.service.ExpenseImportService;
 import com.expensemate.service.ExpenseService;
+import com.expensemate.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Controller for user dashboard and expense management
@@ -29,6 +44,10 @@ import java.util.Optional;
 @RequestMapping("/user")
 public class UserController {
     
+    private static final int EXPENSES_PAGE_SIZE = 50;
+    
+    private static final Set<String> CHART_TYPES = Set.of("category", "monthly", "daily");
+    
     @Autowired
     private ExpenseService expenseService;
     
@@ -38,43 +57,40 @@ public class UserController {
     @Autowired
     private BadgeService badgeService;
     
+    @Autowired
+    private ExpenseImportService expenseImportService;
+    
+    @Autowired
+    private DashboardService dashboardService;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private UserService userService;
+    
     /**
      * User dashboard
      */
     @GetMapping("/dashboard")
-    public String dashboard(@AuthenticationPrincipal User user, Model model) {
-        // Get current month data
-        List<Expense> recentExpenses = expenseService.getRecentExpenses(user, 7);
-        BigDecimal currentMonthTotal = expenseService.getCurrentMonthTotal(user);
-        Optional<Budget> currentBudget = budgetService.getCurrentMonthBudget(user);
-        
-        // Get category-wise spending
-        Map<Expense.Category, BigDecimal> categorySpending = 
-            expenseService.getCategoryWiseSpendingCurrentMonth(user);
-        
-        // Get monthly trend (last 6 months)
-        Map<String, BigDecimal> monthlyTrend = expenseService.getMonthlySpendingTrend(user);
-        
-        // Get badges
-        List<Badge> recentBadges = badgeService.getRecentBadgesByUser(user, 30);
-        long totalBadges = badgeService.getBadgeCount(user);
-        Long totalPoints = badgeService.getTotalPoints(user);
-        
-        // Get statistics
-        ExpenseService.ExpenseStats expenseStats = expenseService.getExpenseStats(user);
-        BudgetService.BudgetStats budgetStats = budgetService.getBudgetStats(user);
+    public String dashboard(@CurrentUser User user, Model model) {
+        // Sections are loaded in parallel; any that time out come back empty
+        DashboardService.DashboardData dashboard = dashboardService.getDashboard(user);
         
         model.addAttribute("user", user);
-        model.addAttribute("recentExpenses", recentExpenses);
-        model.addAttribute("currentMonthTotal", currentMonthTotal);
-        model.addAttribute("currentBudget", currentBudget.orElse(null));
-        model.addAttribute("categorySpending", categorySpending);
-        model.addAttribute("monthlyTrend", monthlyTrend);
-        model.addAttribute("recentBadges", recentBadges);
-        model.addAttribute("totalBadges", totalBadges);
-        model.addAttribute("totalPoints", totalPoints);
-        model.addAttribute("expenseStats", expenseStats);
-        model.addAttribute("budgetStats", budgetStats);
+        model.addAttribute("recentExpenses", dashboard.getRecentExpenses());
+        model.addAttribute("currentMonthTotal", dashboard.getCurrentMonthTotal());
+        model.addAttribute("currentBudget", dashboard.getCurrentBudget());
+        model.addAttribute("categorySpending", dashboard.getCategorySpending());
+        model.addAttribute("monthlyTrend", dashboard.getMonthlyTrend());
+        model.addAttribute("recentBadges", dashboard.getRecentBadges());
+        model.addAttribute("totalBadges", dashboard.getTotalBadges());
+        model.addAttribute("totalPoints", dashboard.getTotalPoints());
+        model.addAttribute("currentStreak", dashboard.getCurrentStreak());
+        model.addAttribute("longestStreak", dashboard.getLongestStreak());
+        model.addAttribute("expenseStats", dashboard.getExpenseStats());
+        model.addAttribute("budgetStats", dashboard.getBudgetStats());
+        model.addAttribute("dashboardPartial", dashboard.isPartial());
         
         return "user/dashboard";
     }
@@ -83,9 +99,18 @@ public class UserController {
      * Expenses page
      */
     @GetMapping("/expenses")
-    public String expenses(@AuthenticationPrincipal User user, Model model) {
-        List<Expense> expenses = expenseService.getExpensesByUser(user);
-        model.addAttribute("expenses", expenses);
+    public String expenses(@ModelAttribute("filter") ExpenseFilter filter,
+                          @RequestParam(required = false) String cursor,
+                          @CurrentUser User user, Model model) {
+        ExpenseService.ExpensePage page;
+        try {
+            page = expenseService.filterExpenses(user, filter, cursor, EXPENSES_PAGE_SIZE);
+        } catch (IllegalArgumentException e) {
+            page = expenseService.filterExpenses(user, filter, null, EXPENSES_PAGE_SIZE);
+        }
+        model.addAttribute("expenses", page.getExpenses());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("facets", expenseService.getExpenseFacets(user, filter));
         model.addAttribute("newExpense", new Expense());
         model.addAttribute("categories", Expense.Category.values());
         return "user/expenses";
@@ -97,7 +122,7 @@ public class UserController {
     @PostMapping("/expenses/add")
     public String addExpense(@Valid @ModelAttribute("newExpense") Expense expense,
                            BindingResult result,
-                           @AuthenticationPrincipal User user,
+                           @CurrentUser User user,
                            RedirectAttributes redirectAttributes) {
         
         if (result.hasErrors()) {
@@ -116,12 +141,47 @@ public class UserController {
         return "redirect:/user/expenses";
     }
     
+    /**
+     * Import expenses from a bank-statement CSV file. dateOrder (DAY_FIRST or
+     * MONTH_FIRST) is only needed when the file's dates are ambiguous.
+     */
+    @PostMapping("/expenses/import")
+    public String importExpenses(@RequestParam("file") MultipartFile file,
+                               @RequestParam(required = false) ExpenseImportService.DateOrder dateOrder,
+                               @CurrentUser User user,
+                               RedirectAttributes redirectAttributes) {
+        
+        if (file.isEmpty()) {
+            redirectAttributes.addFlashAttribute("error", "Please choose a CSV file to import.");
+            return "redirect:/user/expenses";
+        }
+        
+        try {
+            ExpenseImportService.ImportResult importResult =
+                expenseImportService.importCsv(user, file.getInputStream(), dateOrder);
+            
+            String summary = String.format("Imported %d expenses (%d skipped, %d failed).",
+                importResult.getImported(), importResult.getSkipped(), importResult.getFailed());
+            if (importResult.isStopped()) {
+                redirectAttributes.addFlashAttribute("error", summary + " The import stopped at line "
+                    + importResult.getStoppedAtLine() + "; import the rest of the file from there.");
+            } else {
+                redirectAttributes.addFlashAttribute("success", summary);
+            }
+            redirectAttributes.addFlashAttribute("importErrors", importResult.getErrors());
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Failed to import expenses: " + e.getMessage());
+        }
+        
+        return "redirect:/user/expenses";
+    }
+    
     /**
      * Edit expense page
      */
     @GetMapping("/expenses/edit/{id}")
     public String editExpense(@PathVariable Long id, 
-                            @AuthenticationPrincipal User user, 
+                            @CurrentUser User user, 
                             Model model) {
         
         Optional<Expense> expenseOpt = expenseService.findById(id);
@@ -140,7 +200,7 @@ public class UserController {
     @PostMapping("/expenses/update")
     public String updateExpense(@Valid @ModelAttribute("expense") Expense expense,
                               BindingResult result,
-                              @AuthenticationPrincipal User user,
+                              @CurrentUser User user,
                               RedirectAttributes redirectAttributes) {
         
         if (result.hasErrors()) {
@@ -164,7 +224,7 @@ public class UserController {
      */
     @PostMapping("/expenses/delete/{id}")
     public String deleteExpense(@PathVariable Long id,
-                              @AuthenticationPrincipal User user,
+                              @CurrentUser User user,
                               RedirectAttributes redirectAttributes) {
         
         try {
@@ -181,7 +241,7 @@ public class UserController {
      * Budgets page
      */
     @GetMapping("/budgets")
-    public String budgets(@AuthenticationPrincipal User user, Model model) {
+    public String budgets(@CurrentUser User user, Model model) {
         List<Budget> budgets = budgetService.getBudgetsByUser(user);
         Optional<Budget> currentBudget = budgetService.getCurrentMonthBudget(user);
         
@@ -198,7 +258,7 @@ public class UserController {
     @PostMapping("/budgets/add")
     public String addBudget(@Valid @ModelAttribute("newBudget") Budget budget,
                           BindingResult result,
-                          @AuthenticationPrincipal User user,
+                          @CurrentUser User user,
                           RedirectAttributes redirectAttributes) {
         
         if (result.hasErrors()) {
@@ -221,7 +281,7 @@ public class UserController {
      * Badges page
      */
     @GetMapping("/badges")
-    public String badges(@AuthenticationPrincipal User user, Model model) {
+    public String badges(@CurrentUser User user, Model model) {
         List<Badge> userBadges = badgeService.getActiveBadgesByUser(user);
         Long totalPoints = badgeService.getTotalPoints(user);
         Long userRank = badgeService.getUserRank(user);
@@ -243,7 +303,7 @@ public class UserController {
      * Reports page
      */
     @GetMapping("/reports")
-    public String reports(@AuthenticationPrincipal User user, Model model) {
+    public String reports(@CurrentUser User user, Model model) {
         // Get comprehensive data for reports
         Map<Expense.Category, BigDecimal> categorySpending = 
             expenseService.getCategoryWiseSpendingCurrentMonth(user);
@@ -266,7 +326,7 @@ public class UserController {
      * Profile page
      */
     @GetMapping("/profile")
-    public String profile(@AuthenticationPrincipal User user, Model model) {
+    public String profile(@CurrentUser User user, Model model) {
         model.addAttribute("user", user);
         return "user/profile";
     }
@@ -275,28 +335,41 @@ public class UserController {
      * Settings page
      */
     @GetMapping("/settings")
-    public String settings(@AuthenticationPrincipal User user, Model model) {
+    public String settings(@CurrentUser User user, Model model) {
         model.addAttribute("user", user);
         return "user/settings";
     }
     
     /**
-     * API endpoint for chart data
+     * API endpoint for chart data.
+     * The ETag is checked before anything else is loaded, so a poll with an
+     * unchanged version answers 304 after a single primary-key lookup.
      */
     @GetMapping("/api/chart-data")
     @ResponseBody
-    public Map<String, Object> getChartData(@AuthenticationPrincipal User user,
-                                          @RequestParam(defaultValue = "category") String type) {
+    public ResponseEntity<Map<String, Object>> getChartData(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                            @RequestParam(defaultValue = "category") String type,
+                                                            WebRequest request) {
         
-        switch (type) {
-            case "category":
-                return Map.of("data", expenseService.getCategoryWiseSpendingCurrentMonth(user));
-            case "monthly":
-                return Map.of("data", expenseService.getMonthlySpendingTrend(user));
-            case "daily":
-                return Map.of("data", expenseService.getDailyExpensesCurrentMonth(user));
-            default:
-                return Map.of("error", "Invalid chart type");
+        if (!CHART_TYPES.contains(type)) {
+            return ResponseEntity.ok(Map.of("error", "Invalid chart type"));
         }
+        
+        // Read before querying: a write committing meanwhile changes the version, so the next poll refetches.
+        // The date is part of the tag because the current-month charts move on by themselves.
+        String etag = "\"" + type + "-" + principal.getId() + "-"
+                + dataVersionService.getVersion(principal.getId()) + "-" + LocalDate.now() + "\"";
+        // Browsers may keep the data but must revalidate it on every poll
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        
+        User user = userService.findById(principal.getId())
+                .orElseThrow(() -> new UsernameNotFoundException("User no longer exists: " + principal.getId()));
+        
+        Object data = expenseService.getChartData(user, type);
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(Map.of("data", data));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+package com.expensemate.dto;
+
+import com.expensemate.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable security principal kept in the HTTP session in place of the User
+ * entity. Controllers get the entity through @CurrentUser. Sessions live in
+ * the shared JDBC store, so this is what gets serialised for every session.
+ */
+public class AuthenticatedUser implements UserDetails {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String fullName;
+    private final String password;
+    private final User.Role role;
+    private final boolean enabled;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String username, String email, String fullName, String password,
+                             User.Role role, boolean enabled) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.fullName = fullName;
+        this.password = password;
+        this.role = role;
+        this.enabled = enabled;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getEmail(), user.getFullName(),
+                user.getPassword(), user.getRole(), user.isEnabled());
+    }
+
+    /**
+     * Copy without the password hash, for the authentication stored in the session
+     */
+    public AuthenticatedUser withoutPassword() {
+        return password == null ? this : new AuthenticatedUser(id, username, email, fullName, null, role, enabled);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getEmail() { return email; }
+    public String getFullName() { return fullName; }
+    public User.Role getRole() { return role; }
+
+    @Override
+    public String getUsername() { return username; }
+
+    @Override
+    public String getPassword() { return password; }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
+
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+
+    @Override
+    public boolean isEnabled() { return enabled; }
+
+    /**
+     * Equal by username, so the session registry sees every login of a user as the same principal
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof AuthenticatedUser && username.equals(((AuthenticatedUser) other).username);
+    }
+
+    @Override
+    public int hashCode() {
+        return username.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{id=" + id + ", username=" + username + ", role=" + role + "}";
+    }
+}
@@ -0,0 +1,41 @@
+package com.expensemate.dto;
+
+import com.expensemate.entity.Badge;
+
+import java.time.LocalDateTime;
+
+/**
+ * JSON view of an earned badge for API clients
+ */
+public class BadgeDto {
+    
+    private final Long id;
+    private final Badge.BadgeType badgeType;
+    private final boolean active;
+    private final Integer streakCount;
+    private final LocalDateTime earnedAt;
+    private final LocalDateTime updatedAt;
+    
+    public BadgeDto(Long id, Badge.BadgeType badgeType, boolean active, Integer streakCount,
+                    LocalDateTime earnedAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.badgeType = badgeType;
+        this.active = active;
+        this.streakCount = streakCount;
+        this.earnedAt = earnedAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    public static BadgeDto from(Badge badge) {
+        return new BadgeDto(badge.getId(), badge.getBadgeType(), badge.isActive(),
+                badge.getStreakCount(), badge.getEarnedAt(), badge.getUpdatedAt());
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    public Badge.BadgeType getBadgeType() { return badgeType; }
+    public boolean isActive() { return active; }
+    public Integer getStreakCount() { return streakCount; }
+    public LocalDateTime getEarnedAt() { return earnedAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
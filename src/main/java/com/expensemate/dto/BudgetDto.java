@@ -0,0 +1,42 @@
+package com.expensemate.dto;
+
+import com.expensemate.entity.Budget;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * JSON view of a monthly budget for API clients
+ */
+public class BudgetDto {
+    
+    private final Long id;
+    private final BigDecimal budgetAmount;
+    private final Integer budgetMonth;
+    private final Integer budgetYear;
+    private final BigDecimal spentAmount;
+    private final LocalDateTime updatedAt;
+    
+    public BudgetDto(Long id, BigDecimal budgetAmount, Integer budgetMonth, Integer budgetYear,
+                     BigDecimal spentAmount, LocalDateTime updatedAt) {
+        this.id = id;
+        this.budgetAmount = budgetAmount;
+        this.budgetMonth = budgetMonth;
+        this.budgetYear = budgetYear;
+        this.spentAmount = spentAmount;
+        this.updatedAt = updatedAt;
+    }
+    
+    public static BudgetDto from(Budget budget) {
+        return new BudgetDto(budget.getId(), budget.getBudgetAmount(), budget.getBudgetMonth(),
+                budget.getBudgetYear(), budget.getSpentAmount(), budget.getUpdatedAt());
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    public BigDecimal getBudgetAmount() { return budgetAmount; }
+    public Integer getBudgetMonth() { return budgetMonth; }
+    public Integer getBudgetYear() { return budgetYear; }
+    public BigDecimal getSpentAmount() { return spentAmount; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
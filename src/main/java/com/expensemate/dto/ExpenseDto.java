@@ -0,0 +1,46 @@
+package com.expensemate.dto;
+
+import com.expensemate.entity.Expense;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * JSON view of an expense for API clients (no user entity graph)
+ */
+public class ExpenseDto {
+    
+    private final Long id;
+    private final String description;
+    private final BigDecimal amount;
+    private final Expense.Category category;
+    private final LocalDate expenseDate;
+    private final String notes;
+    private final LocalDateTime updatedAt;
+    
+    public ExpenseDto(Long id, String description, BigDecimal amount, Expense.Category category,
+                      LocalDate expenseDate, String notes, LocalDateTime updatedAt) {
+        this.id = id;
+        this.description = description;
+        this.amount = amount;
+        this.category = category;
+        this.expenseDate = expenseDate;
+        this.notes = notes;
+        this.updatedAt = updatedAt;
+    }
+    
+    public static ExpenseDto from(Expense expense) {
+        return new ExpenseDto(expense.getId(), expense.getDescription(), expense.getAmount(),
+                expense.getCategory(), expense.getExpenseDate(), expense.getNotes(), expense.getUpdatedAt());
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    public String getDescription() { return description; }
+    public BigDecimal getAmount() { return amount; }
+    public Expense.Category getCategory() { return category; }
+    public LocalDate getExpenseDate() { return expenseDate; }
+    public String getNotes() { return notes; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,50 @@
+package com.expensemate.dto;
+
+import com.expensemate.entity.Expense;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Combined expense filter bound from request parameters; unset fields are ignored
+ */
+public class ExpenseFilter {
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+
+    private List<Expense.Category> categories = new ArrayList<>();
+
+    private BigDecimal minAmount;
+
+    private BigDecimal maxAmount;
+
+    private String text;
+
+    // Getters and Setters
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public List<Expense.Category> getCategories() { return categories; }
+    public void setCategories(List<Expense.Category> categories) {
+        this.categories = categories != null ? categories : new ArrayList<>();
+    }
+
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+}
@@ -0,0 +1,34 @@
+package com.expensemate.dto;
+
+import com.expensemate.service.ExpenseService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JSON view of a filtered keyset page of expenses with optional facet counts
+ */
+public class ExpensePageDto {
+    
+    private final List<ExpenseDto> expenses;
+    private final String nextCursor;
+    private final ExpenseService.ExpenseFacets facets;
+    
+    public ExpensePageDto(List<ExpenseDto> expenses, String nextCursor, ExpenseService.ExpenseFacets facets) {
+        this.expenses = expenses;
+        this.nextCursor = nextCursor;
+        this.facets = facets;
+    }
+    
+    public static ExpensePageDto from(ExpenseService.ExpensePage page, ExpenseService.ExpenseFacets facets) {
+        return new ExpensePageDto(
+                page.getExpenses().stream().map(ExpenseDto::from).collect(Collectors.toList()),
+                page.getNextCursor(), facets);
+    }
+    
+    // Getters
+    public List<ExpenseDto> getExpenses() { return expenses; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasMore() { return nextCursor != null; }
+    public ExpenseService.ExpenseFacets getFacets() { return facets; }
+}
@@ -0,0 +1,60 @@
+package com.expensemate.dto;
+
+import com.expensemate.entity.Expense;
+import com.expensemate.entity.RecurringExpense;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * JSON view of a recurring expense template for API clients
+ */
+public class RecurringExpenseDto {
+    
+    private final Long id;
+    private final String description;
+    private final BigDecimal amount;
+    private final Expense.Category category;
+    private final String notes;
+    private final RecurringExpense.Frequency frequency;
+    private final int interval;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final LocalDate nextDueDate;
+    private final boolean active;
+    
+    public RecurringExpenseDto(Long id, String description, BigDecimal amount, Expense.Category category,
+                               String notes, RecurringExpense.Frequency frequency, int interval,
+                               LocalDate startDate, LocalDate endDate, LocalDate nextDueDate, boolean active) {
+        this.id = id;
+        this.description = description;
+        this.amount = amount;
+        this.category = category;
+        this.notes = notes;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.nextDueDate = nextDueDate;
+        this.active = active;
+    }
+    
+    public static RecurringExpenseDto from(RecurringExpense template) {
+        return new RecurringExpenseDto(template.getId(), template.getDescription(), template.getAmount(),
+                template.getCategory(), template.getNotes(), template.getFrequency(), template.getInterval(),
+                template.getStartDate(), template.getEndDate(), template.getNextDueDate(), template.isActive());
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    public String getDescription() { return description; }
+    public BigDecimal getAmount() { return amount; }
+    public Expense.Category getCategory() { return category; }
+    public String getNotes() { return notes; }
+    public RecurringExpense.Frequency getFrequency() { return frequency; }
+    public int getInterval() { return interval; }
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public LocalDate getNextDueDate() { return nextDueDate; }
+    public boolean isActive() { return active; }
+}
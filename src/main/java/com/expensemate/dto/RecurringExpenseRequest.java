@@ -0,0 +1,65 @@
+package com.expensemate.dto;
+
+import com.expensemate.entity.Expense;
+import com.expensemate.entity.RecurringExpense;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Recurring expense template submitted by API clients; only these fields can be set
+ */
+public class RecurringExpenseRequest {
+
+    @NotBlank(message = "Description is required")
+    private String description;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+
+    @NotNull(message = "Category is required")
+    private Expense.Category category;
+
+    private String notes;
+
+    @NotNull(message = "Frequency is required")
+    private RecurringExpense.Frequency frequency;
+
+    @Min(value = 1, message = "Interval must be at least 1")
+    private int interval = 1;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    // Getters and Setters
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public Expense.Category getCategory() { return category; }
+    public void setCategory(Expense.Category category) { this.category = category; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public RecurringExpense.Frequency getFrequency() { return frequency; }
+    public void setFrequency(RecurringExpense.Frequency frequency) { this.frequency = frequency; }
+
+    public int getInterval() { return interval; }
+    public void setInterval(int interval) { this.interval = interval; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+}
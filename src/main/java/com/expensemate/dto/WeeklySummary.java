@@ -0,0 +1,41 @@
+package com.expensemate.dto;
+
+import com.expensemate.entity.Expense;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One user's spending aggregates for a week, as rendered in the weekly summary email
+ */
+public class WeeklySummary {
+    
+    private final LocalDate weekStart;
+    private final LocalDate weekEnd;
+    private final Map<Expense.Category, BigDecimal> categoryTotals = new EnumMap<>(Expense.Category.class);
+    private long expenseCount;
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    
+    public WeeklySummary(LocalDate weekStart, LocalDate weekEnd) {
+        this.weekStart = weekStart;
+        this.weekEnd = weekEnd;
+    }
+    
+    /**
+     * Add one category row of the grouped aggregate query
+     */
+    public void add(Expense.Category category, long count, BigDecimal amount) {
+        categoryTotals.merge(category, amount, BigDecimal::add);
+        expenseCount += count;
+        totalAmount = totalAmount.add(amount);
+    }
+    
+    // Getters
+    public LocalDate getWeekStart() { return weekStart; }
+    public LocalDate getWeekEnd() { return weekEnd; }
+    public Map<Expense.Category, BigDecimal> getCategoryTotals() { return categoryTotals; }
+    public long getExpenseCount() { return expenseCount; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+}
@@ -2,6 +2,8 @@ package com.expensemate.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -9,13 +11,17 @@ import java.time.LocalDateTime;
  * Badge entity representing gamification achievements for users
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "badges")
 @Table(name = "badges", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "badge_type"})
+}, indexes = {
+    @Index(name = "idx_badges_user_updated", columnList = "user_id, updated_at")
 })
 public class Badge {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "badge_seq")
+    @SequenceGenerator(name = "badge_seq", sequenceName = "badge_seq", allocationSize = 50)
     private Long id;
     
     @NotNull(message = "Badge type is required")
@@ -35,6 +41,9 @@ public class Badge {
     @Column(name = "achievement_date")
     private LocalDateTime achievementDate;
     
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
     // Relationships
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -44,6 +53,7 @@ public class Badge {
     public Badge() {
         this.earnedAt = LocalDateTime.now();
         this.achievementDate = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
     }
     
     public Badge(BadgeType badgeType, User user) {
@@ -57,6 +67,12 @@ public class Badge {
         this.streakCount = streakCount;
     }
     
+    // Lifecycle callbacks
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -76,6 +92,9 @@ public class Badge {
     public LocalDateTime getAchievementDate() { return achievementDate; }
     public void setAchievementDate(LocalDateTime achievementDate) { this.achievementDate = achievementDate; }
     
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
     
@@ -3,6 +3,8 @@ package com.expensemate.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -12,13 +14,18 @@ import java.time.YearMonth;
  * Budget entity representing monthly budget limits for users
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "budgets")
+@EntityListeners(DataVersionListener.class)
 @Table(name = "budgets", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "budget_month", "budget_year"})
+}, indexes = {
+    @Index(name = "idx_budgets_user_updated", columnList = "user_id, updated_at")
 })
 public class Budget {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budget_seq")
+    @SequenceGenerator(name = "budget_seq", sequenceName = "budget_seq", allocationSize = 50)
     private Long id;
     
     @NotNull(message = "Budget amount is required")
@@ -161,7 +168,13 @@ public class Budget {
     }
     
     public String getBudgetStatus() {
-        double percentage = getSpentPercentage();
+        return statusFor(getSpentPercentage());
+    }
+    
+    /**
+     * Budget status for a spent percentage
+     */
+    public static String statusFor(double percentage) {
         if (percentage >= 100) {
             return "EXCEEDED";
         } else if (percentage >= 80) {
@@ -0,0 +1,35 @@
+package com.expensemate.entity;
+
+import com.expensemate.service.DataVersionService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Entity listener that changes the owning user's data version whenever an
+ * expense or budget is inserted, updated or deleted, whichever service or
+ * job made the change. Hibernate creates it through Spring's bean container.
+ */
+public class DataVersionListener {
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void dataChanged(Object entity) {
+        User user = null;
+        if (entity instanceof Expense expense) {
+            user = expense.getUser();
+        } else if (entity instanceof Budget budget) {
+            user = budget.getUser();
+        }
+
+        // getId() does not initialise a lazy user proxy
+        if (user != null && user.getId() != null) {
+            dataVersionService.dataChanged(user.getId());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.expensemate.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tombstone recording a deleted expense, budget or badge so that offline
+ * clients can remove it during delta sync
+ */
+@Entity
+@Table(name = "deleted_records", indexes = {
+    @Index(name = "idx_deleted_records_user_deleted", columnList = "user_id, deleted_at"),
+    @Index(name = "idx_deleted_records_deleted", columnList = "deleted_at")
+})
+public class DeletedRecord {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private EntityType entityType;
+    
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+    
+    // Relationships
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    // Constructors
+    public DeletedRecord() {
+        this.deletedAt = LocalDateTime.now();
+    }
+    
+    public DeletedRecord(EntityType entityType, Long entityId, User user) {
+        this();
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.user = user;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public EntityType getEntityType() { return entityType; }
+    public void setEntityType(EntityType entityType) { this.entityType = entityType; }
+    
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+    
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+    
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+    
+    @Override
+    public String toString() {
+        return "DeletedRecord{" +
+                "id=" + id +
+                ", entityType=" + entityType +
+                ", entityId=" + entityId +
+                ", deletedAt=" + deletedAt +
+                '}';
+    }
+    
+    // Synchronised entity types
+    public enum EntityType {
+        EXPENSE, BUDGET, BADGE
+    }
+}
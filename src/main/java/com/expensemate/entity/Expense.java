@@ -13,11 +13,20 @@ import java.time.LocalDateTime;
  * Expense entity representing user expenses with categorization
  */
 @Entity
-@Table(name = "expenses")
+@EntityListeners(DataVersionListener.class)
+@Table(name = "expenses", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_expenses_recurring_date", columnNames = {"recurring_expense_id", "expense_date"})
+}, indexes = {
+    @Index(name = "idx_expenses_user_updated", columnList = "user_id, updated_at"),
+    @Index(name = "idx_expenses_user_date_id", columnList = "user_id, expense_date, id"),
+    @Index(name = "idx_expenses_user_category_date", columnList = "user_id, category, expense_date"),
+    @Index(name = "idx_expenses_user_amount", columnList = "user_id, amount")
+})
 public class Expense {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_seq")
+    @SequenceGenerator(name = "expense_seq", sequenceName = "expense_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Description is required")
@@ -52,6 +61,13 @@ public class Expense {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
+    /**
+     * Template this expense was generated from (null for manual entries)
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "recurring_expense_id")
+    private RecurringExpense recurringExpense;
+    
     // Constructors
     public Expense() {
         this.createdAt = LocalDateTime.now();
@@ -102,6 +118,9 @@ public class Expense {
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
     
+    public RecurringExpense getRecurringExpense() { return recurringExpense; }
+    public void setRecurringExpense(RecurringExpense recurringExpense) { this.recurringExpense = recurringExpense; }
+    
     // Utility methods
     public String getFormattedAmount() {
         return "₹" + amount.toString();
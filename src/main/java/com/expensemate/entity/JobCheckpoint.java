@@ -0,0 +1,136 @@
+package com.expensemate.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one partition of a partitioned batch job run. A run is
+ * identified by job name and run key (e.g. the summarised week), so a
+ * restarted run picks up each partition after its last processed user.
+ */
+@Entity
+@Table(name = "job_checkpoints", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_job_checkpoints_partition", columnNames = {"job_name", "run_key", "partition_index"})
+})
+public class JobCheckpoint {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "job_name", nullable = false, length = 50)
+    private String jobName;
+    
+    @Column(name = "run_key", nullable = false, length = 50)
+    private String runKey;
+    
+    @Column(name = "partition_index", nullable = false)
+    private int partitionIndex;
+    
+    /**
+     * Exclusive lower bound of the partition's user ID range
+     */
+    @Column(name = "range_start", nullable = false)
+    private Long rangeStart;
+    
+    /**
+     * Inclusive upper bound of the partition's user ID range
+     */
+    @Column(name = "range_end", nullable = false)
+    private Long rangeEnd;
+    
+    @Column(name = "last_user_id", nullable = false)
+    private Long lastUserId;
+    
+    @Column(nullable = false)
+    private boolean completed = false;
+    
+    /**
+     * Node currently processing the partition
+     */
+    @Column(name = "claimed_by")
+    private String claimedBy;
+    
+    /**
+     * Claim expiry; renewed on every progress update, after which another node may take over
+     */
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public JobCheckpoint() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public JobCheckpoint(String jobName, String runKey, int partitionIndex, Long rangeStart, Long rangeEnd) {
+        this();
+        this.jobName = jobName;
+        this.runKey = runKey;
+        this.partitionIndex = partitionIndex;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.lastUserId = rangeStart;
+    }
+    
+    // Lifecycle callbacks
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+    
+    public String getRunKey() { return runKey; }
+    public void setRunKey(String runKey) { this.runKey = runKey; }
+    
+    public int getPartitionIndex() { return partitionIndex; }
+    public void setPartitionIndex(int partitionIndex) { this.partitionIndex = partitionIndex; }
+    
+    public Long getRangeStart() { return rangeStart; }
+    public void setRangeStart(Long rangeStart) { this.rangeStart = rangeStart; }
+    
+    public Long getRangeEnd() { return rangeEnd; }
+    public void setRangeEnd(Long rangeEnd) { this.rangeEnd = rangeEnd; }
+    
+    public Long getLastUserId() { return lastUserId; }
+    public void setLastUserId(Long lastUserId) { this.lastUserId = lastUserId; }
+    
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+    
+    public String getClaimedBy() { return claimedBy; }
+    public void setClaimedBy(String claimedBy) { this.claimedBy = claimedBy; }
+    
+    public LocalDateTime getLeaseUntil() { return leaseUntil; }
+    public void setLeaseUntil(LocalDateTime leaseUntil) { this.leaseUntil = leaseUntil; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    @Override
+    public String toString() {
+        return "JobCheckpoint{" +
+                "jobName='" + jobName + '\'' +
+                ", runKey='" + runKey + '\'' +
+                ", partitionIndex=" + partitionIndex +
+                ", lastUserId=" + lastUserId +
+                ", completed=" + completed +
+                '}';
+    }
+}
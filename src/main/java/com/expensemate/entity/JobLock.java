@@ -0,0 +1,49 @@
+package com.expensemate.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cluster-wide lease for a scheduled job. A node owns the job while
+ * locked_until is in the future; a crashed node's lease simply expires.
+ */
+@Entity
+@Table(name = "job_locks")
+public class JobLock {
+    
+    @Id
+    @Column(length = 64)
+    private String name;
+    
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+    
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+    
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+    
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public LocalDateTime getLockedUntil() { return lockedUntil; }
+    public void setLockedUntil(LocalDateTime lockedUntil) { this.lockedUntil = lockedUntil; }
+    
+    public LocalDateTime getLockedAt() { return lockedAt; }
+    public void setLockedAt(LocalDateTime lockedAt) { this.lockedAt = lockedAt; }
+    
+    public String getLockedBy() { return lockedBy; }
+    public void setLockedBy(String lockedBy) { this.lockedBy = lockedBy; }
+    
+    @Override
+    public String toString() {
+        return "JobLock{" +
+                "name='" + name + '\'' +
+                ", lockedUntil=" + lockedUntil +
+                ", lockedBy='" + lockedBy + '\'' +
+                '}';
+    }
+}
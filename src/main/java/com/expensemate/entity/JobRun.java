@@ -0,0 +1,119 @@
+package com.expensemate.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One execution of a scheduled job on one node, kept so run time and
+ * throughput can be compared against the number of users over time
+ */
+@Entity
+@Table(name = "job_runs", indexes = {
+    @Index(name = "idx_job_runs_job_started", columnList = "job_name, started_at"),
+    @Index(name = "idx_job_runs_started", columnList = "started_at")
+})
+public class JobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 50)
+    private String jobName;
+
+    @Column(nullable = false)
+    private String node;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    /**
+     * Users, budgets, emails... whatever unit the job works through
+     */
+    @Column(name = "items_processed", nullable = false)
+    private long itemsProcessed = 0;
+
+    @Column(nullable = false)
+    private long failures = 0;
+
+    /**
+     * Registered users when the run started, the baseline for scaling trends
+     */
+    @Column(name = "user_count", nullable = false)
+    private long userCount = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.RUNNING;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    // Constructors
+    public JobRun() {
+    }
+
+    public JobRun(String jobName, String node, LocalDateTime startedAt, long userCount) {
+        this.jobName = jobName;
+        this.node = node;
+        this.startedAt = startedAt;
+        this.userCount = userCount;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public String getNode() { return node; }
+    public void setNode(String node) { this.node = node; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public Long getDurationMs() { return durationMs; }
+    public void setDurationMs(Long durationMs) { this.durationMs = durationMs; }
+
+    public long getItemsProcessed() { return itemsProcessed; }
+    public void setItemsProcessed(long itemsProcessed) { this.itemsProcessed = itemsProcessed; }
+
+    public long getFailures() { return failures; }
+    public void setFailures(long failures) { this.failures = failures; }
+
+    public long getUserCount() { return userCount; }
+    public void setUserCount(long userCount) { this.userCount = userCount; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    @Override
+    public String toString() {
+        return "JobRun{" +
+                "id=" + id +
+                ", jobName='" + jobName + '\'' +
+                ", node='" + node + '\'' +
+                ", status=" + status +
+                ", durationMs=" + durationMs +
+                '}';
+    }
+
+    // Run status
+    public enum Status {
+        RUNNING, SUCCEEDED, FAILED
+    }
+}
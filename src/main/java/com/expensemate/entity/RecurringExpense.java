@@ -0,0 +1,199 @@
+package com.expensemate.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Recurring expense template (rent, insurance, utilities, ...) from which
+ * the nightly job materializes one Expense per due occurrence
+ */
+@Entity
+@Table(name = "recurring_expenses", indexes = {
+    @Index(name = "idx_recurring_expenses_due", columnList = "active, next_due_date, id"),
+    @Index(name = "idx_recurring_expenses_user", columnList = "user_id")
+})
+public class RecurringExpense {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "Description is required")
+    @Column(nullable = false)
+    private String description;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @NotNull(message = "Category is required")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Expense.Category category;
+
+    @Column(length = 500)
+    private String notes;
+
+    @NotNull(message = "Frequency is required")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Frequency frequency;
+
+    @Min(value = 1, message = "Interval must be at least 1")
+    @Column(name = "repeat_interval", nullable = false)
+    private int interval = 1;
+
+    @NotNull(message = "Start date is required")
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    /**
+     * Number of occurrences already materialized; the next one is occurrence(occurrenceCount)
+     */
+    @Column(name = "occurrence_count", nullable = false)
+    private int occurrenceCount = 0;
+
+    @Column(name = "next_due_date")
+    private LocalDate nextDueDate;
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Relationships
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // Constructors
+    public RecurringExpense() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Lifecycle callbacks
+    @PrePersist
+    public void prePersist() {
+        if (nextDueDate == null && occurrenceCount == 0) {
+            nextDueDate = startDate;
+        }
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Date of the n-th occurrence (0-based). Always computed from the start
+     * date so a schedule starting on the 31st returns to the 31st after
+     * shorter months instead of drifting.
+     */
+    public LocalDate occurrence(int index) {
+        long steps = (long) index * interval;
+        switch (frequency) {
+            case DAILY:
+                return startDate.plusDays(steps);
+            case WEEKLY:
+                return startDate.plusWeeks(steps);
+            case YEARLY:
+                return startDate.plusYears(steps);
+            case MONTHLY:
+            default:
+                return startDate.plusMonths(steps);
+        }
+    }
+
+    /**
+     * Mark the current occurrence as materialized and move to the next one;
+     * the template is deactivated once it passes its end date
+     */
+    public void advance() {
+        occurrenceCount++;
+        LocalDate next = occurrence(occurrenceCount);
+        if (endDate != null && next.isAfter(endDate)) {
+            nextDueDate = null;
+            active = false;
+        } else {
+            nextDueDate = next;
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public Expense.Category getCategory() { return category; }
+    public void setCategory(Expense.Category category) { this.category = category; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+
+    public Frequency getFrequency() { return frequency; }
+    public void setFrequency(Frequency frequency) { this.frequency = frequency; }
+
+    public int getInterval() { return interval; }
+    public void setInterval(int interval) { this.interval = interval; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public int getOccurrenceCount() { return occurrenceCount; }
+    public void setOccurrenceCount(int occurrenceCount) { this.occurrenceCount = occurrenceCount; }
+
+    public LocalDate getNextDueDate() { return nextDueDate; }
+    public void setNextDueDate(LocalDate nextDueDate) { this.nextDueDate = nextDueDate; }
+
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    @Override
+    public String toString() {
+        return "RecurringExpense{" +
+                "id=" + id +
+                ", description='" + description + '\'' +
+                ", amount=" + amount +
+                ", frequency=" + frequency +
+                ", nextDueDate=" + nextDueDate +
+                '}';
+    }
+
+    // Repeat frequency
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY, YEARLY
+    }
+}
@@ -0,0 +1,138 @@
+package com.expensemate.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Per-user run of consecutive days with at least one logged expense,
+ * maintained incrementally as expenses are added and rebuilt from the
+ * expense dates when earlier days change
+ */
+@Entity
+@Table(name = "spending_streaks", indexes = {
+    @Index(name = "idx_spending_streaks_last_logged", columnList = "last_logged_date, current_streak")
+})
+public class SpendingStreak {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "current_streak", nullable = false)
+    private int currentStreak = 0;
+    
+    @Column(name = "longest_streak", nullable = false)
+    private int longestStreak = 0;
+    
+    @Column(name = "last_logged_date")
+    private LocalDate lastLoggedDate;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Relationships
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, unique = true)
+    private User user;
+    
+    // Constructors
+    public SpendingStreak() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public SpendingStreak(User user) {
+        this();
+        this.user = user;
+    }
+    
+    // Lifecycle callbacks
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Account for an expense logged on the given date. Dates at or before
+     * the last logged date do not change the streak.
+     */
+    public void recordLoggedDate(LocalDate date) {
+        if (lastLoggedDate != null && !date.isAfter(lastLoggedDate)) {
+            return;
+        }
+        
+        if (lastLoggedDate != null && date.equals(lastLoggedDate.plusDays(1))) {
+            currentStreak++;
+        } else {
+            currentStreak = 1;
+        }
+        
+        lastLoggedDate = date;
+        longestStreak = Math.max(longestStreak, currentStreak);
+    }
+    
+    /**
+     * Whether recordLoggedDate cannot account for an expense on date: a day
+     * before the current run (which may extend it backwards or join it with
+     * an older run), or any day once the nightly reset has zeroed the count
+     */
+    public boolean needsRecompute(LocalDate date) {
+        if (lastLoggedDate == null) {
+            return false;
+        }
+        return currentStreak == 0 || date.isBefore(lastLoggedDate.minusDays(currentStreak - 1));
+    }
+    
+    /**
+     * Rebuild the streak from every day that has an expense, oldest first
+     */
+    public void recomputeFrom(List<LocalDate> loggedDates) {
+        currentStreak = 0;
+        longestStreak = 0;
+        lastLoggedDate = null;
+        for (LocalDate date : loggedDates) {
+            recordLoggedDate(date);
+        }
+    }
+    
+    /**
+     * Streak length as of the given day: a streak is still alive if the
+     * last expense was logged that day or the day before
+     */
+    public int getCurrentStreakAsOf(LocalDate today) {
+        if (lastLoggedDate == null || lastLoggedDate.isBefore(today.minusDays(1))) {
+            return 0;
+        }
+        return currentStreak;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public int getCurrentStreak() { return currentStreak; }
+    public void setCurrentStreak(int currentStreak) { this.currentStreak = currentStreak; }
+    
+    public int getLongestStreak() { return longestStreak; }
+    public void setLongestStreak(int longestStreak) { this.longestStreak = longestStreak; }
+    
+    public LocalDate getLastLoggedDate() { return lastLoggedDate; }
+    public void setLastLoggedDate(LocalDate lastLoggedDate) { this.lastLoggedDate = lastLoggedDate; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+    
+    @Override
+    public String toString() {
+        return "SpendingStreak{" +
+                "currentStreak=" + currentStreak +
+                ", longestStreak=" + longestStreak +
+                ", lastLoggedDate=" + lastLoggedDate +
+                '}';
+    }
+}
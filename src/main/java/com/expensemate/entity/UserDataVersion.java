@@ -0,0 +1,34 @@
+package com.expensemate.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Version of the expense and budget data of one user, incremented in every
+ * transaction that changes it (see DataVersionService)
+ */
+@Entity
+@Table(name = "user_data_versions")
+public class UserDataVersion {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(nullable = false)
+    private long version;
+    
+    // Constructors
+    public UserDataVersion() {}
+    
+    public UserDataVersion(Long userId, long version) {
+        this.userId = userId;
+        this.version = version;
+    }
+    
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
@@ -2,8 +2,11 @@ package com.expensemate.repository;
 
 import com.expensemate.entity.Badge;
 import com.expensemate.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -25,8 +28,17 @@ public interface BadgeRepository extends JpaRepository<Badge, Long> {
     /**
      * Find active badges by user
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "badge-queries")
+    })
     List<Badge> findByUserAndActiveOrderByEarnedAtDesc(User user, boolean active);
     
+    /**
+     * Find badges awarded or modified after the given time (delta sync)
+     */
+    List<Badge> findByUserAndUpdatedAtAfterOrderByUpdatedAt(User user, LocalDateTime since);
+    
     /**
      * Find badge by user and badge type
      */
@@ -40,6 +52,10 @@ public interface BadgeRepository extends JpaRepository<Badge, Long> {
     /**
      * Check if user has active badge of specific type
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "badge-queries")
+    })
     boolean existsByUserAndBadgeTypeAndActive(User user, Badge.BadgeType badgeType, boolean active);
     
     /**
@@ -50,6 +66,10 @@ public interface BadgeRepository extends JpaRepository<Badge, Long> {
     /**
      * Count active badges by user
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "badge-queries")
+    })
     long countByUserAndActive(User user, boolean active);
     
     /**
@@ -59,9 +79,9 @@ public interface BadgeRepository extends JpaRepository<Badge, Long> {
     List<User> findUsersByBadgeType(@Param("badgeType") Badge.BadgeType badgeType);
     
     /**
-     * Find recently earned badges (last N days)
+     * Find recently earned badges (last N days), with their users
      */
-    @Query("SELECT b FROM Badge b WHERE b.earnedAt >= :date ORDER BY b.earnedAt DESC")
+    @Query("SELECT b FROM Badge b JOIN FETCH b.user WHERE b.earnedAt >= :date ORDER BY b.earnedAt DESC")
     List<Badge> findRecentlyEarnedBadges(@Param("date") LocalDateTime date);
     
     /**
@@ -79,6 +99,10 @@ public interface BadgeRepository extends JpaRepository<Badge, Long> {
     /**
      * Calculate total points earned by user
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "badge-queries")
+    })
     @Query("SELECT SUM(CASE " +
            "WHEN b.badgeType = 'BUDGET_HERO' THEN 100 " +
            "WHEN b.badgeType = 'CONSISTENT_SAVER' THEN 200 " +
@@ -121,36 +145,42 @@ public interface BadgeRepository extends JpaRepository<Badge, Long> {
     /**
      * Find users eligible for Budget Hero badge (spent < 80% of budget)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT DISTINCT u FROM User u JOIN u.budgets budget WHERE budget.spentAmount / budget.budgetAmount < 0.8 AND NOT EXISTS (SELECT b FROM Badge b WHERE b.user = u AND b.badgeType = 'BUDGET_HERO' AND b.active = true)")
     List<User> findBudgetHeroEligibleUsers();
     
     /**
      * Find users eligible for Consistent Saver badge
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT u FROM User u WHERE (SELECT COUNT(budget) FROM Budget budget WHERE budget.user = u AND budget.spentAmount <= budget.budgetAmount) >= 3 AND NOT EXISTS (SELECT b FROM Badge b WHERE b.user = u AND b.badgeType = 'CONSISTENT_SAVER' AND b.active = true)")
     List<User> findConsistentSaverEligibleUsers();
     
     /**
      * Find users eligible for Expense Tracker badge (50+ expenses)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT u FROM User u WHERE (SELECT COUNT(e) FROM Expense e WHERE e.user = u) >= 50 AND NOT EXISTS (SELECT b FROM Badge b WHERE b.user = u AND b.badgeType = 'EXPENSE_TRACKER' AND b.active = true)")
     List<User> findExpenseTrackerEligibleUsers();
     
     /**
      * Find users eligible for Category Master badge (used all categories)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT u FROM User u WHERE (SELECT COUNT(DISTINCT e.category) FROM Expense e WHERE e.user = u) >= 12 AND NOT EXISTS (SELECT b FROM Badge b WHERE b.user = u AND b.badgeType = 'CATEGORY_MASTER' AND b.active = true)")
     List<User> findCategoryMasterEligibleUsers();
     
     /**
      * Find users eligible for Monthly Planner badge (6+ budgets)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT u FROM User u WHERE (SELECT COUNT(budget) FROM Budget budget WHERE budget.user = u) >= 6 AND NOT EXISTS (SELECT b FROM Badge b WHERE b.user = u AND b.badgeType = 'MONTHLY_PLANNER' AND b.active = true)")
     List<User> findMonthlyPlannerEligibleUsers();
     
     /**
      * Find users eligible for Savings Champion badge (saved 50%+ of budget)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT DISTINCT u FROM User u JOIN u.budgets budget WHERE budget.spentAmount / budget.budgetAmount <= 0.5 AND NOT EXISTS (SELECT b FROM Badge b WHERE b.user = u AND b.badgeType = 'SAVINGS_CHAMPION' AND b.active = true)")
     List<User> findSavingsChampionEligibleUsers();
     
@@ -2,11 +2,19 @@ package com.expensemate.repository;
 
 import com.expensemate.entity.Budget;
 import com.expensemate.entity.User;
+import com.expensemate.service.SyncService;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +28,10 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     /**
      * Find budget by user and month/year
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "budget-queries")
+    })
     Optional<Budget> findByUserAndBudgetMonthAndBudgetYear(User user, Integer month, Integer year);
     
     /**
@@ -27,9 +39,18 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
      */
     List<Budget> findByUserOrderByBudgetYearDescBudgetMonthDesc(User user);
     
+    /**
+     * Find budgets created or modified after the given time (delta sync)
+     */
+    List<Budget> findByUserAndUpdatedAtAfterOrderByUpdatedAt(User user, LocalDateTime since);
+    
     /**
      * Find current month budget for user
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "budget-queries")
+    })
     @Query("SELECT b FROM Budget b WHERE b.user = :user AND b.budgetMonth = MONTH(CURRENT_DATE) AND b.budgetYear = YEAR(CURRENT_DATE)")
     Optional<Budget> findCurrentMonthBudget(@Param("user") User user);
     
@@ -39,21 +60,22 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     List<Budget> findByUserAndBudgetYearOrderByBudgetMonth(User user, Integer year);
     
     /**
-     * Find budgets where 80% alert not sent and spending >= 80%
+     * Find budgets where 80% alert not sent and spending >= 80%, with their
+     * users (the alert email is addressed to budget.getUser())
      */
-    @Query("SELECT b FROM Budget b WHERE b.alert80Sent = false AND (b.spentAmount / b.budgetAmount) >= 0.8")
+    @Query("SELECT b FROM Budget b JOIN FETCH b.user WHERE b.alert80Sent = false AND (b.spentAmount / b.budgetAmount) >= 0.8")
     List<Budget> findBudgetsNeedingAlert80();
     
     /**
-     * Find budgets where 100% alert not sent and spending >= 100%
+     * Find budgets where 100% alert not sent and spending >= 100%, with their users
      */
-    @Query("SELECT b FROM Budget b WHERE b.alert100Sent = false AND (b.spentAmount / b.budgetAmount) >= 1.0")
+    @Query("SELECT b FROM Budget b JOIN FETCH b.user WHERE b.alert100Sent = false AND (b.spentAmount / b.budgetAmount) >= 1.0")
     List<Budget> findBudgetsNeedingAlert100();
     
     /**
-     * Find over-budget budgets
+     * Find over-budget budgets, with their users
      */
-    @Query("SELECT b FROM Budget b WHERE b.spentAmount > b.budgetAmount")
+    @Query("SELECT b FROM Budget b JOIN FETCH b.user WHERE b.spentAmount > b.budgetAmount")
     List<Budget> findOverBudgets();
     
     /**
@@ -75,9 +97,9 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     List<User> findUsersWithConsecutiveBudgetSuccess();
     
     /**
-     * Find budgets where user spent less than 80% (Budget Hero candidates)
+     * Find budgets where user spent less than 80% (Budget Hero candidates), with their users
      */
-    @Query("SELECT b FROM Budget b WHERE (b.spentAmount / b.budgetAmount) < 0.8")
+    @Query("SELECT b FROM Budget b JOIN FETCH b.user WHERE (b.spentAmount / b.budgetAmount) < 0.8")
     List<Budget> findBudgetHeroCandidates();
     
     /**
@@ -109,9 +131,27 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     long countByUser(User user);
     
     /**
-     * Find all budgets for current month (for admin analytics)
+     * Get all budget statistics for user in one statement: count, average
+     * amount, average spent percentage, months of the given year up to the
+     * given month within budget, then whether that month has a budget and
+     * its spent percentage
      */
-    @Query("SELECT b FROM Budget b WHERE b.budgetMonth = MONTH(CURRENT_DATE) AND b.budgetYear = YEAR(CURRENT_DATE)")
+    @Query(value = "SELECT COUNT(*), AVG(b.budget_amount), " +
+                   "AVG(CASE WHEN b.budget_amount > 0 THEN b.spent_amount / b.budget_amount * 100 END), " +
+                   "COALESCE(SUM(b.spent_amount <= b.budget_amount AND b.budget_year = :year " +
+                   "AND b.budget_month <= :month), 0), " +
+                   "COALESCE(SUM(b.budget_year = :year AND b.budget_month = :month), 0), " +
+                   "MAX(CASE WHEN b.budget_year = :year AND b.budget_month = :month AND b.budget_amount > 0 " +
+                   "THEN ROUND(COALESCE(b.spent_amount, 0) / b.budget_amount, 4) * 100 END) " +
+                   "FROM budgets b WHERE b.user_id = :userId",
+           nativeQuery = true)
+    List<Object[]> getBudgetStatsRow(@Param("userId") Long userId, @Param("year") Integer year,
+                                     @Param("month") Integer month);
+    
+    /**
+     * Find all budgets for current month with their users (for admin analytics)
+     */
+    @Query("SELECT b FROM Budget b JOIN FETCH b.user WHERE b.budgetMonth = MONTH(CURRENT_DATE) AND b.budgetYear = YEAR(CURRENT_DATE)")
     List<Budget> findAllCurrentMonthBudgets();
     
     /**
@@ -125,4 +165,35 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
      */
     @Query("SELECT u FROM User u WHERE u NOT IN (SELECT b.user FROM Budget b WHERE b.budgetMonth = MONTH(CURRENT_DATE) AND b.budgetYear = YEAR(CURRENT_DATE))")
     List<User> findUsersWithoutCurrentMonthBudget();
-}
\ No newline at end of file
+    
+    /**
+     * Set the 80% alert flag unless it already has that value; returns 1 if it
+     * changed. Claiming an alert with sent = true lets only one sender win.
+     */
+    @Modifying
+    @Transactional(timeout = SyncService.WRITE_TIMEOUT_SECONDS)
+    @Query("UPDATE Budget b SET b.alert80Sent = :sent WHERE b.id = :id AND b.alert80Sent <> :sent")
+    int updateAlert80Sent(@Param("id") Long id, @Param("sent") boolean sent);
+    
+    /**
+     * Set the 100% alert flag unless it already has that value; returns 1 if it changed
+     */
+    @Modifying
+    @Transactional(timeout = SyncService.WRITE_TIMEOUT_SECONDS)
+    @Query("UPDATE Budget b SET b.alert100Sent = :sent WHERE b.id = :id AND b.alert100Sent <> :sent")
+    int updateAlert100Sent(@Param("id") Long id, @Param("sent") boolean sent);
+    
+    /**
+     * Ids of budgets with an alert flag set, in id order after afterId
+     */
+    @Query("SELECT b.id FROM Budget b WHERE b.id > :afterId AND (b.alert80Sent = true OR b.alert100Sent = true) ORDER BY b.id")
+    List<Long> findIdsWithAlertSentAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Clear both alert flags of the given budgets; returns the number of budgets updated
+     */
+    @Modifying
+    @Transactional(timeout = SyncService.WRITE_TIMEOUT_SECONDS)
+    @Query("UPDATE Budget b SET b.alert80Sent = false, b.alert100Sent = false, b.updatedAt = :now WHERE b.id IN :ids")
+    int clearAlertFlags(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+}
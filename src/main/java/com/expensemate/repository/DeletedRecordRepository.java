@@ -0,0 +1,31 @@
+package com.expensemate.repository;
+
+import com.expensemate.entity.DeletedRecord;
+import com.expensemate.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for deletion tombstones used by delta sync
+ */
+@Repository
+public interface DeletedRecordRepository extends JpaRepository<DeletedRecord, Long> {
+    
+    /**
+     * Find tombstones for user recorded after the given time
+     */
+    List<DeletedRecord> findByUserAndDeletedAtAfterOrderByDeletedAt(User user, LocalDateTime since);
+    
+    /**
+     * Purge tombstones older than the retention window
+     */
+    @Modifying
+    @Query("DELETE FROM DeletedRecord d WHERE d.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,26 @@
+package com.expensemate.repository;
+
+import com.expensemate.dto.ExpenseFilter;
+import com.expensemate.entity.Expense;
+import com.expensemate.entity.User;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Custom repository fragment for combined expense filters
+ */
+public interface ExpenseFilterRepository {
+
+    /**
+     * Find one keyset page of filtered expenses ordered by date then id (both descending).
+     * Pass null afterDate/afterId for the first page.
+     */
+    List<Expense> findFilteredPage(User user, ExpenseFilter filter, LocalDate afterDate, Long afterId, int limit);
+
+    /**
+     * Count and total filtered expenses grouped by category, year and month
+     * (rows of category, year, month, count, amount)
+     */
+    List<Object[]> getFilteredFacets(User user, ExpenseFilter filter);
+}
@@ -0,0 +1,97 @@
+package com.expensemate.repository;
+
+import com.expensemate.dto.ExpenseFilter;
+import com.expensemate.entity.Expense;
+import com.expensemate.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPQL implementation of ExpenseFilterRepository. Only the predicates for the
+ * filter fields that are set are added, so each combination can use the
+ * matching composite index on expenses.
+ */
+public class ExpenseFilterRepositoryImpl implements ExpenseFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Expense> findFilteredPage(User user, ExpenseFilter filter, LocalDate afterDate, Long afterId, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder jpql = new StringBuilder("SELECT e FROM Expense e");
+        appendPredicates(jpql, parameters, user, filter);
+
+        if (afterDate != null && afterId != null) {
+            // Keyset: continue strictly after the last row of the previous page
+            jpql.append(" AND (e.expenseDate < :afterDate OR (e.expenseDate = :afterDate AND e.id < :afterId))");
+            parameters.put("afterDate", afterDate);
+            parameters.put("afterId", afterId);
+        }
+
+        jpql.append(" ORDER BY e.expenseDate DESC, e.id DESC");
+
+        TypedQuery<Expense> query = entityManager.createQuery(jpql.toString(), Expense.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<Object[]> getFilteredFacets(User user, ExpenseFilter filter) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder jpql = new StringBuilder(
+            "SELECT e.category, YEAR(e.expenseDate), MONTH(e.expenseDate), COUNT(e), SUM(e.amount) FROM Expense e");
+        appendPredicates(jpql, parameters, user, filter);
+        jpql.append(" GROUP BY e.category, YEAR(e.expenseDate), MONTH(e.expenseDate)");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    private void appendPredicates(StringBuilder jpql, Map<String, Object> parameters, User user, ExpenseFilter filter) {
+        jpql.append(" WHERE e.user = :user");
+        parameters.put("user", user);
+
+        if (filter.getStartDate() != null) {
+            jpql.append(" AND e.expenseDate >= :startDate");
+            parameters.put("startDate", filter.getStartDate());
+        }
+        if (filter.getEndDate() != null) {
+            jpql.append(" AND e.expenseDate <= :endDate");
+            parameters.put("endDate", filter.getEndDate());
+        }
+        if (!filter.getCategories().isEmpty()) {
+            jpql.append(" AND e.category IN :categories");
+            parameters.put("categories", filter.getCategories());
+        }
+        if (filter.getMinAmount() != null) {
+            jpql.append(" AND e.amount >= :minAmount");
+            parameters.put("minAmount", filter.getMinAmount());
+        }
+        if (filter.getMaxAmount() != null) {
+            jpql.append(" AND e.amount <= :maxAmount");
+            parameters.put("maxAmount", filter.getMaxAmount());
+        }
+
+        List<String> terms = SearchTerms.parse(filter.getText());
+        if (SearchTerms.isFullTextSearchable(terms)) {
+            jpql.append(" AND match_against(e.description, e.notes, :fullText) > 0");
+            parameters.put("fullText", SearchTerms.toBooleanModeQuery(terms));
+        } else {
+            // Substring fallback: like the full-text query, every term must match
+            for (int i = 0; i < terms.size(); i++) {
+                String name = "term" + i;
+                jpql.append(" AND (LOWER(e.description) LIKE :").append(name).append(" ESCAPE '!'")
+                    .append(" OR LOWER(e.notes) LIKE :").append(name).append(" ESCAPE '!')");
+                parameters.put(name, SearchTerms.toLikePattern(terms.get(i)));
+            }
+        }
+    }
+}
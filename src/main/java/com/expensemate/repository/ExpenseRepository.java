@@ -2,6 +2,7 @@ package com.expensemate.repository;
 
 import com.expensemate.entity.Expense;
 import com.expensemate.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,6 +10,8 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -16,13 +19,27 @@ import java.util.Map;
  * Repository interface for Expense entity operations with analytics support
  */
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, ExpenseFilterRepository {
     
     /**
      * Find expenses by user
      */
     List<Expense> findByUserOrderByExpenseDateDesc(User user);
     
+    /**
+     * Find expenses created or modified after the given time (delta sync)
+     */
+    List<Expense> findByUserAndUpdatedAtAfterOrderByUpdatedAt(User user, LocalDateTime since);
+    
+    /**
+     * Find (template id, date) pairs already materialized for the given templates
+     */
+    @Query("SELECT e.recurringExpense.id, e.expenseDate FROM Expense e " +
+           "WHERE e.recurringExpense.id IN :templateIds AND e.expenseDate BETWEEN :startDate AND :endDate")
+    List<Object[]> findRecurringOccurrences(@Param("templateIds") Collection<Long> templateIds,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+    
     /**
      * Find expenses by user and date range
      */
@@ -76,6 +93,19 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     @Query("SELECT MONTH(e.expenseDate), YEAR(e.expenseDate), SUM(e.amount) FROM Expense e WHERE e.user = :user AND e.expenseDate >= :startDate GROUP BY YEAR(e.expenseDate), MONTH(e.expenseDate) ORDER BY YEAR(e.expenseDate), MONTH(e.expenseDate)")
     List<Object[]> getMonthlySpendingTrend(@Param("user") User user, @Param("startDate") LocalDate startDate);
     
+    /**
+     * Get per-user, per-category totals for a date range over a user ID range
+     * (one grouped query per chunk of a partitioned batch job)
+     */
+    @Query("SELECT e.user.id, e.category, COUNT(e), SUM(e.amount) FROM Expense e " +
+           "WHERE e.user.id > :afterUserId AND e.user.id <= :maxUserId " +
+           "AND e.expenseDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY e.user.id, e.category")
+    List<Object[]> getCategoryTotalsByUserRange(@Param("afterUserId") Long afterUserId,
+                                                @Param("maxUserId") Long maxUserId,
+                                                @Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
+    
     /**
      * Get daily expenses for current month
      */
@@ -105,6 +135,19 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     @Query("SELECT e FROM Expense e WHERE e.user = :user ORDER BY e.amount DESC")
     List<Expense> findTopExpensesByAmount(@Param("user") User user);
     
+    /**
+     * Distinct days with an expense up to the given date, oldest first (spending streak rebuilds)
+     */
+    @Query("SELECT DISTINCT e.expenseDate FROM Expense e WHERE e.user = :user AND e.expenseDate <= :date " +
+           "ORDER BY e.expenseDate")
+    List<LocalDate> findDistinctExpenseDates(@Param("user") User user, @Param("date") LocalDate date);
+    
+    /**
+     * Ids of users with at least one expense after the given id, in id order (spending streak backfill)
+     */
+    @Query("SELECT DISTINCT e.user.id FROM Expense e WHERE e.user.id > :afterId ORDER BY e.user.id")
+    List<Long> findUserIdsWithExpensesAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
     /**
      * Check if user has expenses for consecutive days
      */
@@ -112,10 +155,32 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     long countDistinctExpenseDays(@Param("user") User user, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
     /**
-     * Find expenses by description containing keyword
+     * Find expenses whose description matches pattern (built by SearchTerms.toLikePattern)
      */
-    @Query("SELECT e FROM Expense e WHERE e.user = :user AND LOWER(e.description) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY e.expenseDate DESC")
-    List<Expense> findByUserAndDescriptionContaining(@Param("user") User user, @Param("keyword") String keyword);
+    @Query("SELECT e FROM Expense e WHERE e.user = :user AND LOWER(e.description) LIKE :pattern ESCAPE '!' ORDER BY e.expenseDate DESC")
+    List<Expense> findByUserAndDescriptionLike(@Param("user") User user, @Param("pattern") String pattern);
+    
+    /**
+     * Ranked full-text search over description and notes (MySQL boolean mode)
+     * with optional category, date and amount filters. Requires the
+     * ft_expenses_description_notes index created by FullTextIndexInitializer.
+     */
+    @Query(value = "SELECT e.* FROM expenses e " +
+           "WHERE e.user_id = :userId " +
+           "AND MATCH(e.description, e.notes) AGAINST (:query IN BOOLEAN MODE) " +
+           "AND (:category IS NULL OR e.category = :category) " +
+           "AND (:startDate IS NULL OR e.expense_date >= :startDate) " +
+           "AND (:endDate IS NULL OR e.expense_date <= :endDate) " +
+           "AND (:minAmount IS NULL OR e.amount >= :minAmount) " +
+           "AND (:maxAmount IS NULL OR e.amount <= :maxAmount) " +
+           "ORDER BY MATCH(e.description, e.notes) AGAINST (:query IN BOOLEAN MODE) DESC, " +
+           "e.expense_date DESC, e.id DESC",
+           nativeQuery = true)
+    List<Expense> searchFullText(@Param("userId") Long userId, @Param("query") String query,
+                                 @Param("category") String category,
+                                 @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                 @Param("minAmount") BigDecimal minAmount, @Param("maxAmount") BigDecimal maxAmount,
+                                 Pageable pageable);
     
     /**
      * Get average daily spending for user in current month
@@ -129,6 +194,25 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     @Query("SELECT e.category FROM Expense e WHERE e.user = :user AND MONTH(e.expenseDate) = MONTH(CURRENT_DATE) AND YEAR(e.expenseDate) = YEAR(CURRENT_DATE) GROUP BY e.category ORDER BY SUM(e.amount) DESC")
     List<Expense.Category> findTopSpendingCategories(@Param("user") User user);
     
+    /**
+     * Get all expense statistics for user in one statement: total count, then
+     * count, total and distinct expense days in [monthStart, nextMonthStart),
+     * then that month's highest spending category
+     */
+    @Query(value = "SELECT COUNT(*), " +
+                   "COALESCE(SUM(e.expense_date >= :monthStart AND e.expense_date < :nextMonthStart), 0), " +
+                   "COALESCE(SUM(CASE WHEN e.expense_date >= :monthStart AND e.expense_date < :nextMonthStart " +
+                   "THEN e.amount END), 0), " +
+                   "COUNT(DISTINCT CASE WHEN e.expense_date >= :monthStart AND e.expense_date < :nextMonthStart " +
+                   "THEN e.expense_date END), " +
+                   "(SELECT t.category FROM expenses t WHERE t.user_id = :userId " +
+                   "AND t.expense_date >= :monthStart AND t.expense_date < :nextMonthStart " +
+                   "GROUP BY t.category ORDER BY SUM(t.amount) DESC LIMIT 1) " +
+                   "FROM expenses e WHERE e.user_id = :userId",
+           nativeQuery = true)
+    List<Object[]> getExpenseStatsRow(@Param("userId") Long userId, @Param("monthStart") LocalDate monthStart,
+                                      @Param("nextMonthStart") LocalDate nextMonthStart);
+    
     /**
      * Get total expenses for all users (admin analytics)
      */
@@ -0,0 +1,71 @@
+package com.expensemate.repository;
+
+import com.expensemate.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for batch job partition checkpoints
+ */
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, Long> {
+    
+    /**
+     * Find all partitions of a job run. Read-write so it reads the primary:
+     * partitions planned by another node may not have reached a replica yet.
+     */
+    @Transactional
+    List<JobCheckpoint> findByJobNameAndRunKeyOrderByPartitionIndex(String jobName, String runKey);
+    
+    /**
+     * Find partition by id on the primary, so progress just claimed is never read stale
+     */
+    @Override
+    @Transactional
+    Optional<JobCheckpoint> findById(Long id);
+    
+    /**
+     * Claim an unfinished partition whose lease is free or expired; returns 1 only on the node that wins
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobCheckpoint c SET c.claimedBy = :node, c.leaseUntil = :until, c.updatedAt = :now " +
+           "WHERE c.id = :id AND c.completed = false AND (c.leaseUntil IS NULL OR c.leaseUntil < :now)")
+    int claim(@Param("id") Long id, @Param("node") String node,
+              @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+    
+    /**
+     * Record progress of a partition and renew the claim; returns 0 if this node no longer holds it
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobCheckpoint c SET c.lastUserId = :lastUserId, c.leaseUntil = :until, c.updatedAt = :now " +
+           "WHERE c.id = :id AND c.claimedBy = :node")
+    int updateProgress(@Param("id") Long id, @Param("node") String node, @Param("lastUserId") Long lastUserId,
+                       @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+    
+    /**
+     * Mark a partition as finished
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobCheckpoint c SET c.completed = true, c.leaseUntil = NULL, c.updatedAt = :now " +
+           "WHERE c.id = :id AND c.claimedBy = :node")
+    int markCompleted(@Param("id") Long id, @Param("node") String node, @Param("now") LocalDateTime now);
+    
+    /**
+     * Remove checkpoints of a job's old runs
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM JobCheckpoint c WHERE c.jobName = :jobName AND c.createdAt < :cutoff")
+    int deleteOlderThan(@Param("jobName") String jobName, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,45 @@
+package com.expensemate.repository;
+
+import com.expensemate.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for cluster-wide scheduled job locks
+ */
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+    
+    /**
+     * Create an unlocked row for the job unless one exists
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO job_locks (name, locked_until, locked_at, locked_by) " +
+                   "VALUES (:name, :now, :now, '')", nativeQuery = true)
+    int insertIfMissing(@Param("name") String name, @Param("now") LocalDateTime now);
+    
+    /**
+     * Take the lease if it has expired; returns 1 only on the node that wins
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLock l SET l.lockedUntil = :until, l.lockedAt = :now, l.lockedBy = :node " +
+           "WHERE l.name = :name AND l.lockedUntil <= :now")
+    int tryAcquire(@Param("name") String name, @Param("node") String node,
+                   @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+    
+    /**
+     * Shorten the lease held by this node
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLock l SET l.lockedUntil = :until WHERE l.name = :name AND l.lockedBy = :node")
+    int release(@Param("name") String name, @Param("node") String node, @Param("until") LocalDateTime until);
+}
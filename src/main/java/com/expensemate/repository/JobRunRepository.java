@@ -0,0 +1,46 @@
+package com.expensemate.repository;
+
+import com.expensemate.entity.JobRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for scheduled job execution history
+ */
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    /**
+     * Find the most recent runs of a job
+     */
+    List<JobRun> findByJobNameOrderByStartedAtDesc(String jobName, Pageable pageable);
+
+    /**
+     * Find finished runs of a job since a date, oldest first
+     */
+    @Query("SELECT r FROM JobRun r WHERE r.jobName = :jobName AND r.startedAt >= :since " +
+           "AND r.finishedAt IS NOT NULL ORDER BY r.startedAt")
+    List<JobRun> findFinishedRunsSince(@Param("jobName") String jobName, @Param("since") LocalDateTime since);
+
+    /**
+     * Find names of jobs that ran since a date
+     */
+    @Query("SELECT DISTINCT r.jobName FROM JobRun r WHERE r.startedAt >= :since ORDER BY r.jobName")
+    List<String> findJobNamesSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Remove runs started before cutoff
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM JobRun r WHERE r.startedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,32 @@
+package com.expensemate.repository;
+
+import com.expensemate.entity.RecurringExpense;
+import com.expensemate.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for recurring expense templates
+ */
+@Repository
+public interface RecurringExpenseRepository extends JpaRepository<RecurringExpense, Long> {
+    
+    /**
+     * Find templates for user
+     */
+    List<RecurringExpense> findByUserOrderByNextDueDate(User user);
+    
+    /**
+     * Find the next page of due templates after the given id (keyset paging for the nightly job)
+     */
+    @Query("SELECT r FROM RecurringExpense r JOIN FETCH r.user " +
+           "WHERE r.active = true AND r.nextDueDate <= :date AND r.id > :afterId ORDER BY r.id")
+    List<RecurringExpense> findDueAfterId(@Param("date") LocalDate date, @Param("afterId") Long afterId,
+                                          Pageable pageable);
+}
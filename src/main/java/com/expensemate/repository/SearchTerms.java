@@ -0,0 +1,80 @@
+package com.expensemate.repository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Parses free-text expense search input into terms for the MySQL full-text index
+ */
+public final class SearchTerms {
+
+    /**
+     * InnoDB's default innodb_ft_min_token_size; shorter words are not indexed
+     */
+    private static final int MIN_FULL_TEXT_TERM_LENGTH = 3;
+
+    /**
+     * Splits on anything that is not a letter or digit, which also strips
+     * MySQL boolean-mode operators from user input
+     */
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Escape character of the LIKE patterns built here; queries using them
+     * must declare it with ESCAPE '!'
+     */
+    public static final char LIKE_ESCAPE = '!';
+
+    private SearchTerms() {
+    }
+
+    /**
+     * Split keyword into lower-case terms (empty for blank input)
+     */
+    public static List<String> parse(String keyword) {
+        if (keyword == null) {
+            return Collections.emptyList();
+        }
+
+        return Arrays.stream(SEPARATOR.split(keyword.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Check whether every term is long enough to be found in the full-text index
+     */
+    public static boolean isFullTextSearchable(List<String> terms) {
+        return !terms.isEmpty() && terms.stream().allMatch(term -> term.length() >= MIN_FULL_TEXT_TERM_LENGTH);
+    }
+
+    /**
+     * Build a lower-case substring pattern for LIKE ... ESCAPE '!', matching
+     * % and _ in the input literally
+     */
+    public static String toLikePattern(String text) {
+        String lower = text.trim().toLowerCase(Locale.ROOT);
+        StringBuilder pattern = new StringBuilder(lower.length() + 2).append('%');
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    /**
+     * Build a boolean-mode query: + makes each term required, * makes it a prefix match
+     */
+    public static String toBooleanModeQuery(List<String> terms) {
+        return terms.stream()
+                .map(term -> "+" + term + "*")
+                .collect(Collectors.joining(" "));
+    }
+}
@@ -0,0 +1,50 @@
+package com.expensemate.repository;
+
+import com.expensemate.entity.SpendingStreak;
+import com.expensemate.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for per-user spending streaks
+ */
+@Repository
+public interface SpendingStreakRepository extends JpaRepository<SpendingStreak, Long> {
+    
+    /**
+     * Find streak for user
+     */
+    Optional<SpendingStreak> findByUser(User user);
+    
+    /**
+     * Find streak for user and lock the row until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SpendingStreak s WHERE s.user = :user")
+    Optional<SpendingStreak> findByUserForUpdate(@Param("user") User user);
+    
+    /**
+     * Create an empty streak row for user unless one exists (race-free under concurrent inserts)
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO spending_streaks (user_id, current_streak, longest_streak, updated_at) " +
+                   "VALUES (:userId, 0, 0, NOW())", nativeQuery = true)
+    int insertIfMissing(@Param("userId") Long userId);
+    
+    /**
+     * Reset every streak whose last logged date is before the cutoff
+     */
+    @Modifying
+    @Query("UPDATE SpendingStreak s SET s.currentStreak = 0, s.updatedAt = :now " +
+           "WHERE s.lastLoggedDate < :cutoff AND s.currentStreak > 0")
+    int resetStreaksLoggedBefore(@Param("cutoff") LocalDate cutoff, @Param("now") LocalDateTime now);
+}
@@ -1,8 +1,12 @@
 package com.expensemate.repository;
 
 import com.expensemate.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -19,19 +23,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     /**
      * Find user by username
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-queries")
+    })
     Optional<User> findByUsername(String username);
     
     /**
      * Find user by email
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-queries")
+    })
     Optional<User> findByEmail(String email);
     
-    /**
-     * Find user by username or email
-     */
-    @Query("SELECT u FROM User u WHERE u.username = :identifier OR u.email = :identifier")
-    Optional<User> findByUsernameOrEmail(@Param("identifier") String identifier);
-    
     /**
      * Check if username exists
      */
@@ -52,6 +58,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     List<User> findByEnabledTrue();
     
+    /**
+     * Find the next chunk of enabled users in an ID range (partitioned batch jobs)
+     */
+    List<User> findByEnabledTrueAndIdGreaterThanAndIdLessThanEqualOrderById(Long afterId, Long maxId, Pageable pageable);
+    
+    /**
+     * Find the highest user ID
+     */
+    @Query("SELECT MAX(u.id) FROM User u")
+    Long findMaxId();
+    
     /**
      * Find users created after a specific date
      */
@@ -0,0 +1,97 @@
+package com.expensemate.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands scheduled jobs from the scheduler threads to the executor of their
+ * job class, and refuses to start a job on this node while its previous run
+ * is still queued or running. Across nodes, overlap is bounded by the job's
+ * job_locks lease.
+ */
+@Component
+public class JobDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobDispatcher.class);
+
+    @Autowired
+    @Qualifier("bulkJobExecutor")
+    private TaskExecutor bulkJobExecutor;
+
+    @Autowired
+    @Qualifier("latencyJobExecutor")
+    private TaskExecutor latencyJobExecutor;
+
+    @Autowired
+    @Qualifier("maintenanceJobExecutor")
+    private TaskExecutor maintenanceJobExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Submit job unless a run of it is already in flight; returns false when skipped
+     */
+    public boolean dispatch(String jobName, JobClass jobClass, Runnable job) {
+        if (!inFlight.add(jobName)) {
+            logger.warn("Skipping job {}: previous run has not finished", jobName);
+            countSkipped(jobName, "overlap");
+            return false;
+        }
+
+        try {
+            executorFor(jobClass).execute(() -> {
+                try {
+                    job.run();
+                } finally {
+                    inFlight.remove(jobName);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            inFlight.remove(jobName);
+            logger.warn("Skipping job {}: {} job executor is saturated", jobName, jobClass);
+            countSkipped(jobName, "rejected");
+            return false;
+        }
+    }
+
+    /**
+     * Whether a run of the job is queued or running on this node
+     */
+    public boolean isRunning(String jobName) {
+        return inFlight.contains(jobName);
+    }
+
+    private TaskExecutor executorFor(JobClass jobClass) {
+        switch (jobClass) {
+            case LATENCY:
+                return latencyJobExecutor;
+            case MAINTENANCE:
+                return maintenanceJobExecutor;
+            case BULK:
+            default:
+                return bulkJobExecutor;
+        }
+    }
+
+    private void countSkipped(String jobName, String reason) {
+        meterRegistry.counter("expensemate.job.skipped", "job", jobName, "reason", reason).increment();
+    }
+
+    // Job classes, each with its own executor
+    public enum JobClass {
+        BULK, LATENCY, MAINTENANCE
+    }
+}
@@ -1,24 +1,52 @@
 package com.expensemate.scheduler;
 
+import com.expensemate.scheduler.JobDispatcher.JobClass;
 import com.expensemate.service.BadgeService;
 import com.expensemate.service.BudgetService;
 import com.expensemate.service.EmailService;
+import com.expensemate.service.JobLockService;
+import com.expensemate.service.JobRunService;
+import com.expensemate.service.JobRunService.JobOutcome;
+import com.expensemate.service.RecurringExpenseService;
+import com.expensemate.service.SessionCleanupService;
+import com.expensemate.service.SpendingStreakService;
+import com.expensemate.service.SyncService;
+import com.expensemate.service.WeeklySummaryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.function.Supplier;
 
 /**
- * Scheduled tasks for automated background processes
+ * Scheduled tasks for automated background processes.
+ * Every replica schedules these; cluster-wide jobs run under a job_locks
+ * lease so only one node executes each trigger. Scheduler threads only
+ * dispatch: job bodies run on the executor of their JobClass, and a job is
+ * not started again on a node while its previous run is still going. Each
+ * execution is recorded in job_runs (see /api/admin/jobs).
  */
 @Component
 public class ScheduledTasks {
     
     private static final Logger logger = LoggerFactory.getLogger(ScheduledTasks.class);
     
+    /**
+     * Minimum time a job stays locked after it starts, so a node whose clock
+     * runs slightly behind does not run the same trigger again
+     */
+    private static final Duration MIN_LOCK_HOLD = Duration.ofSeconds(30);
+    
+    /**
+     * How long job execution history is kept
+     */
+    private static final int JOB_RUN_RETENTION_DAYS = 180;
+    
     @Autowired
     private BudgetService budgetService;
     
@@ -28,20 +56,43 @@ public class ScheduledTasks {
     @Autowired
     private EmailService emailService;
     
+    @Autowired
+    private SyncService syncService;
+    
+    @Autowired
+    private RecurringExpenseService recurringExpenseService;
+    
+    @Autowired
+    private WeeklySummaryService weeklySummaryService;
+    
+    @Autowired
+    private SpendingStreakService spendingStreakService;
+    
+    @Autowired
+    private SessionCleanupService sessionCleanupService;
+    
+    @Autowired
+    private JobLockService jobLockService;
+    
+    @Autowired
+    private JobRunService jobRunService;
+    
+    @Autowired
+    private JobDispatcher jobDispatcher;
+    
     /**
      * Process budget alerts every hour
      * Checks for users who have reached 80% or 100% of their budget
      */
     @Scheduled(fixedRate = 3600000) // Every hour (3600000 ms)
     public void processBudgetAlerts() {
-        logger.info("Starting budget alerts processing at {}", LocalDateTime.now());
-        
-        try {
-            budgetService.processAllPendingAlerts();
+        runLocked("budget-alerts", JobClass.LATENCY, Duration.ofMinutes(50), () -> {
+            logger.info("Starting budget alerts processing at {}", LocalDateTime.now());
+            
+            int alerts = budgetService.processAllPendingAlerts();
             logger.info("Budget alerts processing completed successfully");
-        } catch (Exception e) {
-            logger.error("Error processing budget alerts: {}", e.getMessage(), e);
-        }
+            return JobOutcome.of(alerts);
+        });
     }
     
     /**
@@ -50,14 +101,32 @@ public class ScheduledTasks {
      */
     @Scheduled(fixedRate = 21600000) // Every 6 hours (21600000 ms)
     public void processBadgeAwards() {
-        logger.info("Starting badge awards processing at {}", LocalDateTime.now());
-        
-        try {
-            badgeService.processAllEligibleBadges();
+        runLocked("badge-awards", JobClass.BULK, Duration.ofHours(5), () -> {
+            logger.info("Starting badge awards processing at {}", LocalDateTime.now());
+            
+            int evaluated = badgeService.processAllEligibleBadges();
             logger.info("Badge awards processing completed successfully");
-        } catch (Exception e) {
-            logger.error("Error processing badge awards: {}", e.getMessage(), e);
-        }
+            return JobOutcome.of(evaluated);
+        });
+    }
+    
+    /**
+     * Materialize recurring expenses every day at 00:15
+     * Generates today's (and any missed) occurrences of rent, insurance, utilities, etc.
+     */
+    @Scheduled(cron = "0 15 0 * * ?") // Every day at 00:15
+    public void materializeRecurringExpenses() {
+        runLocked("recurring-expenses", JobClass.BULK, Duration.ofHours(2), () -> {
+            logger.info("Starting recurring expense materialization at {}", LocalDateTime.now());
+            
+            RecurringExpenseService.MaterializationResult result =
+                recurringExpenseService.materializeDueOccurrences(LocalDate.now());
+            if (!result.getFailedTemplateIds().isEmpty()) {
+                logger.warn("Recurring expense templates skipped after failures: {}", result.getFailedTemplateIds());
+            }
+            logger.info("Recurring expense materialization completed successfully");
+            return new JobOutcome(result.getExpensesCreated(), result.getFailedTemplateIds().size());
+        });
     }
     
     /**
@@ -66,31 +135,33 @@ public class ScheduledTasks {
      */
     @Scheduled(cron = "0 1 0 1 * ?") // 1st day of month at 00:01
     public void resetMonthlyBudgets() {
-        logger.info("Starting monthly budget reset at {}", LocalDateTime.now());
-        
-        try {
-            budgetService.resetMonthlyBudgets();
+        runLocked("monthly-budget-reset", JobClass.MAINTENANCE, Duration.ofHours(1), () -> {
+            logger.info("Starting monthly budget reset at {}", LocalDateTime.now());
+            
+            int budgets = budgetService.resetMonthlyBudgets();
             logger.info("Monthly budget reset completed successfully");
-        } catch (Exception e) {
-            logger.error("Error resetting monthly budgets: {}", e.getMessage(), e);
-        }
+            return JobOutcome.of(budgets);
+        });
     }
     
     /**
      * Send weekly summary emails every Sunday at 09:00
-     * Provides users with weekly expense summaries
+     * Provides users with weekly expense summaries. Not locked: every node
+     * claims partitions of the run, and the hourly re-triggers until 12:00
+     * pick up partitions left behind by a crashed node.
      */
-    @Scheduled(cron = "0 0 9 * * SUN") // Every Sunday at 09:00
+    @Scheduled(cron = "0 0 9-12 * * SUN") // Every Sunday at 09:00, retried hourly until 12:00
     public void sendWeeklySummaries() {
-        logger.info("Starting weekly summaries at {}", LocalDateTime.now());
-        
-        try {
-            // Implementation for weekly summaries
-            // This would involve gathering user data and sending summary emails
+        String jobName = WeeklySummaryService.JOB_NAME;
+        jobDispatcher.dispatch(jobName, JobClass.BULK, () -> jobRunService.record(jobName, () -> {
+            logger.info("Starting weekly summaries at {}", LocalDateTime.now());
+            
+            // Summarise the 7 days up to yesterday; re-running resumes from checkpoints
+            WeeklySummaryService.SummaryRunResult result =
+                weeklySummaryService.sendWeeklySummaries(LocalDate.now().minusDays(1));
             logger.info("Weekly summaries sent successfully");
-        } catch (Exception e) {
-            logger.error("Error sending weekly summaries: {}", e.getMessage(), e);
-        }
+            return new JobOutcome(result.getEmailsSent(), result.getPartitionsFailed());
+        }));
     }
     
     /**
@@ -99,15 +170,14 @@ public class ScheduledTasks {
      */
     @Scheduled(cron = "0 0 10 1 * ?") // 1st day of month at 10:00
     public void sendMonthlyReports() {
-        logger.info("Starting monthly reports generation at {}", LocalDateTime.now());
-        
-        try {
+        runLocked("monthly-reports", JobClass.BULK, Duration.ofHours(2), () -> {
+            logger.info("Starting monthly reports generation at {}", LocalDateTime.now());
+            
             // Implementation for monthly reports
             // This would generate comprehensive monthly reports for all users
             logger.info("Monthly reports sent successfully");
-        } catch (Exception e) {
-            logger.error("Error sending monthly reports: {}", e.getMessage(), e);
-        }
+            return JobOutcome.none();
+        });
     }
     
     /**
@@ -116,15 +186,20 @@ public class ScheduledTasks {
      */
     @Scheduled(cron = "0 0 2 15 * ?") // 15th day of month at 02:00
     public void performMonthlyMaintenance() {
-        logger.info("Starting monthly maintenance at {}", LocalDateTime.now());
-        
-        try {
+        runLocked("monthly-maintenance", JobClass.MAINTENANCE, Duration.ofHours(1), () -> {
+            logger.info("Starting monthly maintenance at {}", LocalDateTime.now());
+            
             // Implementation for data cleanup
             // This could include removing old temporary files, logs, etc.
+            int purged = syncService.purgeExpiredTombstones();
+            logger.info("Purged {} expired sync tombstones", purged);
+            int checkpoints = weeklySummaryService.purgeCheckpoints(90);
+            logger.info("Purged {} old job checkpoints", checkpoints);
+            int runs = jobRunService.purgeRuns(JOB_RUN_RETENTION_DAYS);
+            logger.info("Purged {} old job runs", runs);
             logger.info("Monthly maintenance completed successfully");
-        } catch (Exception e) {
-            logger.error("Error during monthly maintenance: {}", e.getMessage(), e);
-        }
+            return JobOutcome.of(purged + checkpoints + runs);
+        });
     }
     
     /**
@@ -150,15 +225,14 @@ public class ScheduledTasks {
      */
     @Scheduled(cron = "0 30 23 * * ?") // Every day at 23:30
     public void processDailyBadgeChecks() {
-        logger.info("Starting daily badge checks at {}", LocalDateTime.now());
-        
-        try {
+        runLocked("daily-badge-checks", JobClass.BULK, Duration.ofHours(1), () -> {
+            logger.info("Starting daily badge checks at {}", LocalDateTime.now());
+            
             // Process daily-specific badges like spending streak maintainer
-            badgeService.processAllEligibleBadges();
+            int evaluated = badgeService.processAllEligibleBadges();
             logger.info("Daily badge checks completed successfully");
-        } catch (Exception e) {
-            logger.error("Error processing daily badge checks: {}", e.getMessage(), e);
-        }
+            return JobOutcome.of(evaluated);
+        });
     }
     
     /**
@@ -167,15 +241,14 @@ public class ScheduledTasks {
      */
     @Scheduled(cron = "0 0 20 * * ?") // Every day at 20:00
     public void sendBudgetReminders() {
-        logger.info("Starting budget reminders at {}", LocalDateTime.now());
-        
-        try {
+        runLocked("budget-reminders", JobClass.LATENCY, Duration.ofHours(1), () -> {
+            logger.info("Starting budget reminders at {}", LocalDateTime.now());
+            
             // Implementation for daily budget reminders
             // This could remind users to log expenses or check budget status
             logger.info("Budget reminders sent successfully");
-        } catch (Exception e) {
-            logger.error("Error sending budget reminders: {}", e.getMessage(), e);
-        }
+            return JobOutcome.none();
+        });
     }
     
     /**
@@ -184,15 +257,27 @@ public class ScheduledTasks {
      */
     @Scheduled(cron = "0 30 0 * * ?") // Every day at 00:30
     public void updateSpendingStreaks() {
-        logger.info("Starting spending streak updates at {}", LocalDateTime.now());
-        
-        try {
-            // Implementation for updating spending streaks
-            // This would calculate and update daily expense logging streaks
-            logger.info("Spending streak updates completed successfully");
-        } catch (Exception e) {
-            logger.error("Error updating spending streaks: {}", e.getMessage(), e);
-        }
+        runLocked("spending-streaks", JobClass.MAINTENANCE, Duration.ofMinutes(30), () -> {
+            logger.info("Starting spending streak updates at {}", LocalDateTime.now());
+            
+            // Streaks grow as expenses are saved; here we only end streaks with no expense yesterday
+            int reset = spendingStreakService.resetBrokenStreaks(LocalDate.now());
+            logger.info("Spending streak updates completed successfully ({} streaks reset)", reset);
+            return JobOutcome.of(reset);
+        });
+    }
+    
+    /**
+     * Purge expired HTTP sessions every 10 minutes
+     * Deletes them from the shared session store in small batches
+     */
+    @Scheduled(fixedRate = 600000) // Every 10 minutes (600000 ms)
+    public void purgeExpiredSessions() {
+        runLocked("session-cleanup", JobClass.MAINTENANCE, Duration.ofMinutes(9), () -> {
+            int purged = sessionCleanupService.purgeExpiredSessions();
+            logger.debug("Session cleanup completed ({} expired sessions removed)", purged);
+            return JobOutcome.of(purged);
+        });
     }
     
     /**
@@ -211,4 +296,14 @@ public class ScheduledTasks {
             logger.error("Error generating analytics reports: {}", e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Run job on its class's executor, on this node only if no other node
+     * holds its lock, recording the execution; failures are logged and
+     * recorded by JobRunService
+     */
+    private void runLocked(String jobName, JobClass jobClass, Duration lockAtMostFor, Supplier<JobOutcome> job) {
+        jobDispatcher.dispatch(jobName, jobClass, () ->
+            jobLockService.runLocked(jobName, lockAtMostFor, MIN_LOCK_HOLD, () -> jobRunService.record(jobName, job)));
+    }
+}
@@ -3,9 +3,15 @@ package com.expensemate.service;
 import com.expensemate.entity.Badge;
 import com.expensemate.entity.User;
 import com.expensemate.repository.BadgeRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,9 +21,14 @@ import java.util.Optional;
  * Service class for Badge entity operations and gamification logic
  */
 @Service
-@Transactional
+@Transactional(timeout = SyncService.WRITE_TIMEOUT_SECONDS)
 public class BadgeService {
     
+    /**
+     * Users awarded a badge per transaction by the scheduled badge run
+     */
+    private static final int AWARD_BATCH_SIZE = 100;
+    
     @Autowired
     private BadgeRepository badgeRepository;
     
@@ -30,6 +41,17 @@ public class BadgeService {
     @Autowired
     private EmailService emailService;
     
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    void initTransactionTemplate() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setTimeout(SyncService.WRITE_TIMEOUT_SECONDS);
+    }
+    
     /**
      * Award badge to user
      */
@@ -42,15 +64,29 @@ public class BadgeService {
         Badge badge = new Badge(badgeType, user);
         Badge savedBadge = badgeRepository.save(badge);
         
-        // Send notification email
-        emailService.sendBadgeAwardedNotification(user, badge);
+        // Send notification email once the badge is committed
+        sendNotificationAfterCommit(user, savedBadge);
         
         return savedBadge;
     }
     
+    private void sendNotificationAfterCommit(User user, Badge badge) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    emailService.sendBadgeAwardedNotification(user, badge);
+                }
+            });
+        } else {
+            emailService.sendBadgeAwardedNotification(user, badge);
+        }
+    }
+    
     /**
      * Get all badges for user
      */
+    @Transactional(readOnly = true)
     public List<Badge> getBadgesByUser(User user) {
         return badgeRepository.findByUserOrderByEarnedAtDesc(user);
     }
@@ -58,6 +94,7 @@ public class BadgeService {
     /**
      * Get active badges for user
      */
+    @Transactional(readOnly = true)
     public List<Badge> getActiveBadgesByUser(User user) {
         return badgeRepository.findByUserAndActiveOrderByEarnedAtDesc(user, true);
     }
@@ -65,6 +102,7 @@ public class BadgeService {
     /**
      * Check if user has specific badge
      */
+    @Transactional(readOnly = true)
     public boolean hasBadge(User user, Badge.BadgeType badgeType) {
         return badgeRepository.existsByUserAndBadgeTypeAndActive(user, badgeType, true);
     }
@@ -72,6 +110,7 @@ public class BadgeService {
     /**
      * Get badge by user and type
      */
+    @Transactional(readOnly = true)
     public Optional<Badge> getBadgeByUserAndType(User user, Badge.BadgeType badgeType) {
         return badgeRepository.findByUserAndBadgeType(user, badgeType);
     }
@@ -79,6 +118,7 @@ public class BadgeService {
     /**
      * Count total badges for user
      */
+    @Transactional(readOnly = true)
     public long getBadgeCount(User user) {
         return badgeRepository.countByUserAndActive(user, true);
     }
@@ -86,6 +126,7 @@ public class BadgeService {
     /**
      * Calculate total points for user
      */
+    @Transactional(readOnly = true)
     public Long getTotalPoints(User user) {
         Long points = badgeRepository.calculateTotalPointsByUser(user);
         return points != null ? points : 0L;
@@ -94,6 +135,7 @@ public class BadgeService {
     /**
      * Get user's rank by points
      */
+    @Transactional(readOnly = true)
     public Long getUserRank(User user) {
         return badgeRepository.getUserRankByPoints(user);
     }
@@ -101,6 +143,7 @@ public class BadgeService {
     /**
      * Get recently earned badges
      */
+    @Transactional(readOnly = true)
     public List<Badge> getRecentlyEarnedBadges(int days) {
         LocalDateTime date = LocalDateTime.now().minusDays(days);
         return badgeRepository.findRecentlyEarnedBadges(date);
@@ -109,6 +152,7 @@ public class BadgeService {
     /**
      * Get recent badges for user
      */
+    @Transactional(readOnly = true)
     public List<Badge> getRecentBadgesByUser(User user, int days) {
         LocalDateTime date = LocalDateTime.now().minusDays(days);
         return badgeRepository.findRecentBadgesByUser(user, date);
@@ -245,6 +289,7 @@ public class BadgeService {
     /**
      * Get badge statistics for user
      */
+    @Transactional(readOnly = true)
     public BadgeStats getBadgeStats(User user) {
         long totalBadges = getBadgeCount(user);
         Long totalPoints = getTotalPoints(user);
@@ -258,6 +303,7 @@ public class BadgeService {
     /**
      * Get top users by badge count
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getTopUsersByBadgeCount() {
         return badgeRepository.findTopUsersByBadgeCount();
     }
@@ -265,6 +311,7 @@ public class BadgeService {
     /**
      * Get top users by points
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getTopUsersByPoints() {
         return badgeRepository.findTopUsersByPoints();
     }
@@ -272,49 +319,41 @@ public class BadgeService {
     /**
      * Get badge distribution statistics
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getBadgeDistribution() {
         return badgeRepository.getBadgeDistribution();
     }
     
     /**
-     * Process all eligible users for badges (scheduled task)
+     * Process all eligible users for badges (scheduled task).
+     * Returns the number of eligible users evaluated. Eligible users are loaded
+     * read-only: they are only referenced by the new badges, so Hibernate keeps
+     * no snapshots of them for dirty checking. Badges are awarded in short
+     * transactions of AWARD_BATCH_SIZE users, each bounded by the sync write
+     * timeout, and notifications go out once a batch has committed.
      */
-    public void processAllEligibleBadges() {
-        // Budget Hero badges
-        List<User> budgetHeroUsers = badgeRepository.findBudgetHeroEligibleUsers();
-        for (User user : budgetHeroUsers) {
-            awardBadge(user, Badge.BadgeType.BUDGET_HERO);
-        }
-        
-        // Consistent Saver badges
-        List<User> consistentSaverUsers = badgeRepository.findConsistentSaverEligibleUsers();
-        for (User user : consistentSaverUsers) {
-            awardBadge(user, Badge.BadgeType.CONSISTENT_SAVER);
-        }
-        
-        // Expense Tracker badges
-        List<User> expenseTrackerUsers = badgeRepository.findExpenseTrackerEligibleUsers();
-        for (User user : expenseTrackerUsers) {
-            awardBadge(user, Badge.BadgeType.EXPENSE_TRACKER);
-        }
-        
-        // Category Master badges
-        List<User> categoryMasterUsers = badgeRepository.findCategoryMasterEligibleUsers();
-        for (User user : categoryMasterUsers) {
-            awardBadge(user, Badge.BadgeType.CATEGORY_MASTER);
-        }
-        
-        // Monthly Planner badges
-        List<User> monthlyPlannerUsers = badgeRepository.findMonthlyPlannerEligibleUsers();
-        for (User user : monthlyPlannerUsers) {
-            awardBadge(user, Badge.BadgeType.MONTHLY_PLANNER);
-        }
-        
-        // Savings Champion badges
-        List<User> savingsChampionUsers = badgeRepository.findSavingsChampionEligibleUsers();
-        for (User user : savingsChampionUsers) {
-            awardBadge(user, Badge.BadgeType.SAVINGS_CHAMPION);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int processAllEligibleBadges() {
+        int evaluated = 0;
+        evaluated += awardInBatches(badgeRepository.findBudgetHeroEligibleUsers(), Badge.BadgeType.BUDGET_HERO);
+        evaluated += awardInBatches(badgeRepository.findConsistentSaverEligibleUsers(), Badge.BadgeType.CONSISTENT_SAVER);
+        evaluated += awardInBatches(badgeRepository.findExpenseTrackerEligibleUsers(), Badge.BadgeType.EXPENSE_TRACKER);
+        evaluated += awardInBatches(badgeRepository.findCategoryMasterEligibleUsers(), Badge.BadgeType.CATEGORY_MASTER);
+        evaluated += awardInBatches(badgeRepository.findMonthlyPlannerEligibleUsers(), Badge.BadgeType.MONTHLY_PLANNER);
+        evaluated += awardInBatches(badgeRepository.findSavingsChampionEligibleUsers(), Badge.BadgeType.SAVINGS_CHAMPION);
+        return evaluated;
+    }
+    
+    private int awardInBatches(List<User> users, Badge.BadgeType badgeType) {
+        for (int from = 0; from < users.size(); from += AWARD_BATCH_SIZE) {
+            List<User> batch = users.subList(from, Math.min(from + AWARD_BATCH_SIZE, users.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                for (User user : batch) {
+                    awardBadge(user, badgeType);
+                }
+            });
         }
+        return users.size();
     }
     
     /**
@@ -338,6 +377,7 @@ public class BadgeService {
     /**
      * Get user's badge level based on points
      */
+    @Transactional(readOnly = true)
     public String getUserBadgeLevel(User user) {
         Long points = getTotalPoints(user);
         
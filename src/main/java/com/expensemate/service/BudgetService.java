@@ -1,25 +1,43 @@
 package com.expensemate.service;
 
 import com.expensemate.entity.Budget;
+import com.expensemate.entity.DeletedRecord;
 import com.expensemate.entity.User;
 import com.expensemate.repository.BudgetRepository;
 import com.expensemate.repository.ExpenseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Service class for Budget entity operations with alert management
  */
 @Service
-@Transactional
+@Transactional(timeout = SyncService.WRITE_TIMEOUT_SECONDS)
 public class BudgetService {
     
+    private static final Logger logger = LoggerFactory.getLogger(BudgetService.class);
+    
+    /**
+     * Budgets whose alert flags are cleared per transaction by the monthly reset
+     */
+    private static final int RESET_BATCH_SIZE = 500;
+    
     @Autowired
     private BudgetRepository budgetRepository;
     
@@ -29,6 +47,9 @@ public class BudgetService {
     @Autowired
     private EmailService emailService;
     
+    @Autowired
+    private SyncService syncService;
+    
     /**
      * Create or update budget
      */
@@ -54,6 +75,7 @@ public class BudgetService {
     /**
      * Find budget by ID
      */
+    @Transactional(readOnly = true)
     public Optional<Budget> findById(Long id) {
         return budgetRepository.findById(id);
     }
@@ -61,6 +83,7 @@ public class BudgetService {
     /**
      * Get budget for user and specific month/year
      */
+    @Transactional(readOnly = true)
     public Optional<Budget> getBudgetByUserAndMonth(User user, int month, int year) {
         return budgetRepository.findByUserAndBudgetMonthAndBudgetYear(user, month, year);
     }
@@ -68,6 +91,7 @@ public class BudgetService {
     /**
      * Get current month budget for user
      */
+    @Transactional(readOnly = true)
     public Optional<Budget> getCurrentMonthBudget(User user) {
         return budgetRepository.findCurrentMonthBudget(user);
     }
@@ -75,6 +99,7 @@ public class BudgetService {
     /**
      * Get all budgets for user
      */
+    @Transactional(readOnly = true)
     public List<Budget> getBudgetsByUser(User user) {
         return budgetRepository.findByUserOrderByBudgetYearDescBudgetMonthDesc(user);
     }
@@ -82,6 +107,7 @@ public class BudgetService {
     /**
      * Get budgets for user in specific year
      */
+    @Transactional(readOnly = true)
     public List<Budget> getBudgetsByUserAndYear(User user, int year) {
         return budgetRepository.findByUserAndBudgetYearOrderByBudgetMonth(user, year);
     }
@@ -107,27 +133,82 @@ public class BudgetService {
     }
     
     /**
-     * Check and send budget alerts
+     * Check and send budget alerts.
+     * An alert is claimed by setting its flag with a conditional update in
+     * this transaction, so concurrent saves and the hourly job never send it
+     * twice. Mail goes out once the new spent amount is committed; if it
+     * cannot be delivered the flag is cleared again and the hourly alert job
+     * retries it.
      */
     private void checkAndSendAlerts(Budget budget) {
         // Check for 80% alert
-        if (budget.shouldSend80Alert()) {
-            emailService.sendBudgetAlert80(budget);
-            budget.setAlert80Sent(true);
-            budgetRepository.save(budget);
+        if (budget.shouldSend80Alert() && claimAlert(budget, false)) {
+            sendAlertAfterCommit(budget, false);
         }
         
         // Check for 100% alert
-        if (budget.shouldSend100Alert()) {
-            emailService.sendBudgetAlert100(budget);
-            budget.setAlert100Sent(true);
-            budgetRepository.save(budget);
+        if (budget.shouldSend100Alert() && claimAlert(budget, true)) {
+            sendAlertAfterCommit(budget, true);
+        }
+    }
+    
+    private boolean claimAlert(Budget budget, boolean limitExceeded) {
+        boolean claimed = updateAlertSent(budget.getId(), limitExceeded, true);
+        if (claimed) {
+            // Keep the managed entity in step, or its next flush would write the flag back
+            if (limitExceeded) {
+                budget.setAlert100Sent(true);
+            } else {
+                budget.setAlert80Sent(true);
+            }
+        }
+        return claimed;
+    }
+    
+    private boolean updateAlertSent(Long budgetId, boolean limitExceeded, boolean sent) {
+        int updated = limitExceeded
+            ? budgetRepository.updateAlert100Sent(budgetId, sent)
+            : budgetRepository.updateAlert80Sent(budgetId, sent);
+        return updated == 1;
+    }
+    
+    private void sendAlertAfterCommit(Budget budget, boolean limitExceeded) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sendAlertOrRelease(budget, limitExceeded);
+                }
+            });
+        } else {
+            sendAlertOrRelease(budget, limitExceeded);
         }
     }
     
+    /**
+     * Send a claimed alert; if delivery fails, clear its flag (in a
+     * transaction of its own) so the hourly job sends it again
+     */
+    private CompletableFuture<Void> sendAlertOrRelease(Budget budget, boolean limitExceeded) {
+        Long budgetId = budget.getId();
+        CompletableFuture<Void> delivery;
+        try {
+            delivery = limitExceeded ? emailService.sendBudgetAlert100(budget) : emailService.sendBudgetAlert80(budget);
+        } catch (RuntimeException e) {
+            delivery = CompletableFuture.failedFuture(e);
+        }
+        return delivery.whenComplete((result, failure) -> {
+            if (failure != null) {
+                logger.warn("Budget alert for budget {} not delivered, will retry: {}", budgetId, failure.getMessage());
+                updateAlertSent(budgetId, limitExceeded, false);
+            }
+        });
+    }
+    
     /**
      * Get budgets needing 80% alert
      */
+    @Transactional(readOnly = true)
     public List<Budget> getBudgetsNeedingAlert80() {
         return budgetRepository.findBudgetsNeedingAlert80();
     }
@@ -135,6 +216,7 @@ public class BudgetService {
     /**
      * Get budgets needing 100% alert
      */
+    @Transactional(readOnly = true)
     public List<Budget> getBudgetsNeedingAlert100() {
         return budgetRepository.findBudgetsNeedingAlert100();
     }
@@ -142,6 +224,7 @@ public class BudgetService {
     /**
      * Get over-budget budgets
      */
+    @Transactional(readOnly = true)
     public List<Budget> getOverBudgets() {
         return budgetRepository.findOverBudgets();
     }
@@ -149,6 +232,7 @@ public class BudgetService {
     /**
      * Get budgets where user is under 80% spending
      */
+    @Transactional(readOnly = true)
     public List<Budget> getUnderBudgetsByUser(User user) {
         return budgetRepository.findUnderBudgetsByUser(user);
     }
@@ -156,6 +240,7 @@ public class BudgetService {
     /**
      * Count consecutive months user stayed within budget
      */
+    @Transactional(readOnly = true)
     public long countConsecutiveWithinBudgetMonths(User user) {
         YearMonth currentMonth = YearMonth.now();
         return budgetRepository.countConsecutiveWithinBudgetMonths(user, 
@@ -165,6 +250,7 @@ public class BudgetService {
     /**
      * Check if user stayed within budget for 3+ consecutive months
      */
+    @Transactional(readOnly = true)
     public boolean hasConsecutiveBudgetSuccess(User user, int months) {
         return countConsecutiveWithinBudgetMonths(user) >= months;
     }
@@ -172,6 +258,7 @@ public class BudgetService {
     /**
      * Get users with consecutive budget success
      */
+    @Transactional(readOnly = true)
     public List<User> getUsersWithConsecutiveBudgetSuccess() {
         return budgetRepository.findUsersWithConsecutiveBudgetSuccess();
     }
@@ -179,6 +266,7 @@ public class BudgetService {
     /**
      * Get Budget Hero candidates (spent < 80%)
      */
+    @Transactional(readOnly = true)
     public List<Budget> getBudgetHeroCandidates() {
         return budgetRepository.findBudgetHeroCandidates();
     }
@@ -186,6 +274,7 @@ public class BudgetService {
     /**
      * Get average budget amount for user
      */
+    @Transactional(readOnly = true)
     public BigDecimal getAverageBudgetAmount(User user) {
         Double average = budgetRepository.getAverageBudgetAmount(user);
         return average != null ? BigDecimal.valueOf(average) : BigDecimal.ZERO;
@@ -194,6 +283,7 @@ public class BudgetService {
     /**
      * Get average spending percentage for user
      */
+    @Transactional(readOnly = true)
     public Double getAverageSpendingPercentage(User user) {
         Double average = budgetRepository.getAverageSpendingPercentage(user);
         return average != null ? average : 0.0;
@@ -202,6 +292,7 @@ public class BudgetService {
     /**
      * Get recent budgets for user
      */
+    @Transactional(readOnly = true)
     public List<Budget> getRecentBudgets(User user, int months) {
         YearMonth currentMonth = YearMonth.now();
         long monthsSinceEpoch = (currentMonth.getYear() * 12L) + currentMonth.getMonthValue() - months;
@@ -211,6 +302,7 @@ public class BudgetService {
     /**
      * Check if user has budget for current month
      */
+    @Transactional(readOnly = true)
     public boolean hasCurrentMonthBudget(User user) {
         YearMonth currentMonth = YearMonth.now();
         return budgetRepository.existsByUserAndBudgetMonthAndBudgetYear(user, 
@@ -220,6 +312,7 @@ public class BudgetService {
     /**
      * Count total budgets by user
      */
+    @Transactional(readOnly = true)
     public long getBudgetCount(User user) {
         return budgetRepository.countByUser(user);
     }
@@ -238,20 +331,27 @@ public class BudgetService {
             }
             
             budgetRepository.delete(budget);
+            syncService.recordDeletion(DeletedRecord.EntityType.BUDGET, budget.getId(), user);
         }
     }
     
     /**
-     * Get budget statistics for user
+     * Get budget statistics for user (one aggregate query)
      */
+    @Transactional(readOnly = true)
     public BudgetStats getBudgetStats(User user) {
-        long totalBudgets = getBudgetCount(user);
-        BigDecimal averageBudget = getAverageBudgetAmount(user);
-        Double averageSpending = getAverageSpendingPercentage(user);
-        long consecutiveMonths = countConsecutiveWithinBudgetMonths(user);
+        YearMonth currentMonth = YearMonth.now();
+        Object[] row = budgetRepository.getBudgetStatsRow(user.getId(),
+            currentMonth.getYear(), currentMonth.getMonthValue()).get(0);
         
-        Optional<Budget> currentBudget = getCurrentMonthBudget(user);
-        String currentStatus = currentBudget.map(Budget::getBudgetStatus).orElse("NO_BUDGET");
+        long totalBudgets = ((Number) row[0]).longValue();
+        BigDecimal averageBudget = row[1] != null ? new BigDecimal(row[1].toString()) : BigDecimal.ZERO;
+        Double averageSpending = row[2] != null ? ((Number) row[2]).doubleValue() : 0.0;
+        long consecutiveMonths = ((Number) row[3]).longValue();
+        
+        boolean hasCurrentBudget = ((Number) row[4]).longValue() > 0;
+        double currentPercentage = row[5] != null ? ((Number) row[5]).doubleValue() : 0.0;
+        String currentStatus = hasCurrentBudget ? Budget.statusFor(currentPercentage) : "NO_BUDGET";
         
         return new BudgetStats(totalBudgets, averageBudget, averageSpending, 
                               consecutiveMonths, currentStatus);
@@ -260,6 +360,7 @@ public class BudgetService {
     /**
      * Get all current month budgets (admin function)
      */
+    @Transactional(readOnly = true)
     public List<Budget> getAllCurrentMonthBudgets() {
         return budgetRepository.findAllCurrentMonthBudgets();
     }
@@ -267,6 +368,7 @@ public class BudgetService {
     /**
      * Get current month budget statistics (admin function)
      */
+    @Transactional(readOnly = true)
     public Object[] getCurrentMonthBudgetStats() {
         return budgetRepository.getCurrentMonthBudgetStats();
     }
@@ -274,43 +376,65 @@ public class BudgetService {
     /**
      * Get users without current month budget
      */
+    @Transactional(readOnly = true)
     public List<User> getUsersWithoutCurrentMonthBudget() {
         return budgetRepository.findUsersWithoutCurrentMonthBudget();
     }
     
     /**
-     * Process all pending budget alerts
+     * Process all pending budget alerts; returns the number of alerts sent.
+     * Runs without a transaction, so no connection is held while mail is
+     * delivered: each alert is claimed in its own short update, handed to
+     * the mail executor, and released again if it is not delivered, so
+     * alerts lost to an SMTP outage are retried on the next run.
      */
-    public void processAllPendingAlerts() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int processAllPendingAlerts() {
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        
         // Process 80% alerts
-        List<Budget> budgets80 = getBudgetsNeedingAlert80();
-        for (Budget budget : budgets80) {
-            emailService.sendBudgetAlert80(budget);
-            budget.setAlert80Sent(true);
-            budgetRepository.save(budget);
+        for (Budget budget : budgetRepository.findBudgetsNeedingAlert80()) {
+            if (updateAlertSent(budget.getId(), false, true)) {
+                deliveries.add(sendAlertOrRelease(budget, false));
+            }
         }
         
         // Process 100% alerts
-        List<Budget> budgets100 = getBudgetsNeedingAlert100();
-        for (Budget budget : budgets100) {
-            emailService.sendBudgetAlert100(budget);
-            budget.setAlert100Sent(true);
-            budgetRepository.save(budget);
+        for (Budget budget : budgetRepository.findBudgetsNeedingAlert100()) {
+            if (updateAlertSent(budget.getId(), true, true)) {
+                deliveries.add(sendAlertOrRelease(budget, true));
+            }
         }
+        
+        int sent = 0;
+        for (CompletableFuture<Void> delivery : deliveries) {
+            try {
+                delivery.join();
+                sent++;
+            } catch (CompletionException e) {
+                // Already logged and released
+            }
+        }
+        
+        return sent;
     }
     
     /**
-     * Reset monthly budgets (for scheduler)
+     * Reset monthly budgets (for scheduler); returns the number of budgets reset.
+     * Alert flags are cleared RESET_BATCH_SIZE budgets at a time, each batch
+     * in its own short transaction.
      */
-    public void resetMonthlyBudgets() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int resetMonthlyBudgets() {
         // This method can be called by scheduler to reset alert flags
         // and prepare for new month
-        List<Budget> allBudgets = budgetRepository.findAll();
-        for (Budget budget : allBudgets) {
-            budget.setAlert80Sent(false);
-            budget.setAlert100Sent(false);
-            budgetRepository.save(budget);
+        int reset = 0;
+        List<Long> ids = budgetRepository.findIdsWithAlertSentAfter(0L, PageRequest.of(0, RESET_BATCH_SIZE));
+        while (!ids.isEmpty()) {
+            reset += budgetRepository.clearAlertFlags(ids, LocalDateTime.now());
+            ids = budgetRepository.findIdsWithAlertSentAfter(ids.get(ids.size() - 1), PageRequest.of(0, RESET_BATCH_SIZE));
         }
+        return reset;
     }
     
     /**
@@ -0,0 +1,200 @@
+package com.expensemate.service;
+
+import com.expensemate.entity.Badge;
+import com.expensemate.entity.Budget;
+import com.expensemate.entity.Expense;
+import com.expensemate.entity.SpendingStreak;
+import com.expensemate.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Service class assembling the user dashboard.
+ *
+ * The dashboard's sections are independent reads, so they run concurrently
+ * on the bounded dashboardQueryExecutor, each in its own read-only
+ * transaction, and page latency is that of the slowest section rather than
+ * the sum of all of them. A section that fails or exceeds the query timeout
+ * is replaced by an empty fallback and reported in getDegradedSections(), so
+ * one slow query degrades the page instead of failing it.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    private static final int RECENT_EXPENSE_DAYS = 7;
+
+    private static final int RECENT_BADGE_DAYS = 30;
+
+    @Value("${expensemate.dashboard.query-timeout-ms:2000}")
+    private long queryTimeoutMs;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private BadgeService badgeService;
+
+    @Autowired
+    private SpendingStreakService spendingStreakService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("dashboardQueryExecutor")
+    private TaskExecutor dashboardQueryExecutor;
+
+    /**
+     * Load every dashboard section for user
+     */
+    public DashboardData getDashboard(User user) {
+        Queue<String> degraded = new ConcurrentLinkedQueue<>();
+
+        CompletableFuture<List<Expense>> recentExpenses = fetch("recentExpenses",
+            () -> expenseService.getRecentExpenses(user, RECENT_EXPENSE_DAYS), Collections.emptyList(), degraded);
+        CompletableFuture<Optional<Budget>> currentBudget = fetch("currentBudget",
+            () -> budgetService.getCurrentMonthBudget(user), Optional.empty(), degraded);
+        CompletableFuture<Map<Expense.Category, BigDecimal>> categorySpending = fetch("categorySpending",
+            () -> expenseService.getCategoryWiseSpendingCurrentMonth(user), Collections.emptyMap(), degraded);
+        CompletableFuture<Map<String, BigDecimal>> monthlyTrend = fetch("monthlyTrend",
+            () -> expenseService.getMonthlySpendingTrend(user), Collections.emptyMap(), degraded);
+        CompletableFuture<BadgeSummary> badges = fetch("badges",
+            () -> new BadgeSummary(badgeService.getRecentBadgesByUser(user, RECENT_BADGE_DAYS),
+                badgeService.getBadgeCount(user), badgeService.getTotalPoints(user)),
+            new BadgeSummary(Collections.emptyList(), 0, 0L), degraded);
+        CompletableFuture<SpendingStreak> streak = fetch("streak",
+            () -> spendingStreakService.getStreak(user), null, degraded);
+        CompletableFuture<ExpenseService.ExpenseStats> expenseStats = fetch("expenseStats",
+            () -> expenseService.getExpenseStats(user), null, degraded);
+        CompletableFuture<BudgetService.BudgetStats> budgetStats = fetch("budgetStats",
+            () -> budgetService.getBudgetStats(user), null, degraded);
+
+        // Every future completes by its timeout, so this waits at most about one query timeout
+        CompletableFuture.allOf(recentExpenses, currentBudget, categorySpending,
+            monthlyTrend, badges, streak, expenseStats, budgetStats).join();
+
+        SpendingStreak loadedStreak = streak.join();
+        Integer currentStreak = loadedStreak != null ? loadedStreak.getCurrentStreakAsOf(LocalDate.now()) : null;
+        Integer longestStreak = loadedStreak != null ? loadedStreak.getLongestStreak() : null;
+
+        // The month total comes with the stats query rather than a query of its own
+        ExpenseService.ExpenseStats loadedExpenseStats = expenseStats.join();
+        BigDecimal currentMonthTotal = loadedExpenseStats != null ? loadedExpenseStats.getTotalAmount() : BigDecimal.ZERO;
+
+        return new DashboardData(recentExpenses.join(), currentMonthTotal,
+            currentBudget.join().orElse(null), categorySpending.join(), monthlyTrend.join(),
+            badges.join().recentBadges, badges.join().totalBadges, badges.join().totalPoints,
+            currentStreak, longestStreak, loadedExpenseStats, budgetStats.join(),
+            new ArrayList<>(degraded));
+    }
+
+    private <T> CompletableFuture<T> fetch(String section, Supplier<T> query, T fallback, Queue<String> degraded) {
+        TransactionTemplate readOnly = readOnlyTransaction();
+        return CompletableFuture.supplyAsync(() -> readOnly.execute(status -> query.get()), dashboardQueryExecutor)
+                .orTimeout(queryTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    logger.warn("Dashboard section {} unavailable: {}", section, e.toString());
+                    degraded.add(section);
+                    return fallback;
+                });
+    }
+
+    /**
+     * Read-only transaction whose timeout is also applied to its JDBC
+     * statements, so a query abandoned by the page is cancelled in MySQL too
+     */
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(queryTimeoutMs + 999)));
+        return template;
+    }
+
+    private static class BadgeSummary {
+        private final List<Badge> recentBadges;
+        private final long totalBadges;
+        private final Long totalPoints;
+
+        BadgeSummary(List<Badge> recentBadges, long totalBadges, Long totalPoints) {
+            this.recentBadges = recentBadges;
+            this.totalBadges = totalBadges;
+            this.totalPoints = totalPoints;
+        }
+    }
+
+    /**
+     * Inner class for the assembled dashboard
+     */
+    public static class DashboardData {
+        private final List<Expense> recentExpenses;
+        private final BigDecimal currentMonthTotal;
+        private final Budget currentBudget;
+        private final Map<Expense.Category, BigDecimal> categorySpending;
+        private final Map<String, BigDecimal> monthlyTrend;
+        private final List<Badge> recentBadges;
+        private final long totalBadges;
+        private final Long totalPoints;
+        private final Integer currentStreak;
+        private final Integer longestStreak;
+        private final ExpenseService.ExpenseStats expenseStats;
+        private final BudgetService.BudgetStats budgetStats;
+        private final List<String> degradedSections;
+
+        public DashboardData(List<Expense> recentExpenses, BigDecimal currentMonthTotal, Budget currentBudget,
+                             Map<Expense.Category, BigDecimal> categorySpending, Map<String, BigDecimal> monthlyTrend,
+                             List<Badge> recentBadges, long totalBadges, Long totalPoints,
+                             Integer currentStreak, Integer longestStreak,
+                             ExpenseService.ExpenseStats expenseStats, BudgetService.BudgetStats budgetStats,
+                             List<String> degradedSections) {
+            this.recentExpenses = recentExpenses;
+            this.currentMonthTotal = currentMonthTotal;
+            this.currentBudget = currentBudget;
+            this.categorySpending = categorySpending;
+            this.monthlyTrend = monthlyTrend;
+            this.recentBadges = recentBadges;
+            this.totalBadges = totalBadges;
+            this.totalPoints = totalPoints;
+            this.currentStreak = currentStreak;
+            this.longestStreak = longestStreak;
+            this.expenseStats = expenseStats;
+            this.budgetStats = budgetStats;
+            this.degradedSections = degradedSections;
+        }
+
+        // Getters
+        public List<Expense> getRecentExpenses() { return recentExpenses; }
+        public BigDecimal getCurrentMonthTotal() { return currentMonthTotal; }
+        public Budget getCurrentBudget() { return currentBudget; }
+        public Map<Expense.Category, BigDecimal> getCategorySpending() { return categorySpending; }
+        public Map<String, BigDecimal> getMonthlyTrend() { return monthlyTrend; }
+        public List<Badge> getRecentBadges() { return recentBadges; }
+        public long getTotalBadges() { return totalBadges; }
+        public Long getTotalPoints() { return totalPoints; }
+        public Integer getCurrentStreak() { return currentStreak; }
+        public Integer getLongestStreak() { return longestStreak; }
+        public ExpenseService.ExpenseStats getExpenseStats() { return expenseStats; }
+        public BudgetService.BudgetStats getBudgetStats() { return budgetStats; }
+        public List<String> getDegradedSections() { return degradedSections; }
+        public boolean isPartial() { return !degradedSections.isEmpty(); }
+    }
+}
@@ -0,0 +1,70 @@
+package com.expensemate.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service class for per-user data versions, used as HTTP ETags for data
+ * derived from a user's expenses and budgets.
+ *
+ * A user's version lives in user_data_versions and is incremented inside
+ * the transaction that writes their expenses or budgets (see
+ * DataVersionListener), so it commits together with the data and every node
+ * sees the same version. Versions must be read on the primary, before the
+ * data they tag, so a tag is never newer than the data behind it.
+ */
+@Service
+public class DataVersionService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Current data version of a user. Outside a transaction, so it always
+     * reads the primary.
+     */
+    public long getVersion(Long userId) {
+        List<Long> versions = jdbcTemplate.queryForList(
+            "SELECT version FROM user_data_versions WHERE user_id = ?", Long.class, userId);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    /**
+     * Increment a user's version in the current transaction. Runs at most
+     * once per user and transaction; the row stays locked until commit, so
+     * concurrent writers for the same user take turns.
+     *
+     * Called from entity callbacks during a flush, so the update goes through
+     * JdbcTemplate on the transaction's connection rather than the session.
+     */
+    @SuppressWarnings("unchecked")
+    public void dataChanged(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Set<Long> changed = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+            if (changed == null) {
+                changed = new HashSet<>();
+                TransactionSynchronizationManager.bindResource(this, changed);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(DataVersionService.this);
+                    }
+                });
+            }
+            if (!changed.add(userId)) {
+                return;
+            }
+        }
+
+        jdbcTemplate.update(
+            "INSERT INTO user_data_versions (user_id, version) VALUES (?, 1) " +
+            "ON DUPLICATE KEY UPDATE version = version + 1", userId);
+    }
+}
@@ -1,10 +1,18 @@
 package com.expensemate.service;
 
+import com.expensemate.dto.WeeklySummary;
 import com.expensemate.entity.Badge;
 import com.expensemate.entity.Budget;
+import com.expensemate.entity.Expense;
 import com.expensemate.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailPreparationException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
@@ -12,17 +20,31 @@ import org.springframework.stereotype.Service;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Service class for sending automated emails and notifications
+ * Service class for sending automated emails and notifications.
+ * Messages are composed on the calling thread and delivered on the
+ * mailExecutor, so jobs and requests do not wait on SMTP round trips.
+ * Every send returns a future of the delivery, so callers that record a
+ * message as sent (budget alerts, weekly summaries) do so only once it has
+ * been accepted by the SMTP server.
  */
 @Service
 public class EmailService {
     
+    private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
+    
     @Autowired
     private JavaMailSender mailSender;
     
+    @Autowired
+    @Qualifier("mailExecutor")
+    private TaskExecutor mailExecutor;
+    
     @Value("${spring.mail.username}")
     private String fromEmail;
     
@@ -31,7 +53,7 @@ public class EmailService {
     /**
      * Send budget 80% alert email
      */
-    public void sendBudgetAlert80(Budget budget) {
+    public CompletableFuture<Void> sendBudgetAlert80(Budget budget) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true);
@@ -43,17 +65,17 @@ public class EmailService {
             String htmlContent = createBudgetAlert80Html(budget);
             helper.setText(htmlContent, true);
             
-            mailSender.send(message);
+            return dispatch(message);
         } catch (MessagingException e) {
             // Log error and send simple text email as fallback
-            sendSimpleBudgetAlert80(budget);
+            return sendSimpleBudgetAlert80(budget);
         }
     }
     
     /**
      * Send budget 100% alert email
      */
-    public void sendBudgetAlert100(Budget budget) {
+    public CompletableFuture<Void> sendBudgetAlert100(Budget budget) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true);
@@ -65,17 +87,17 @@ public class EmailService {
             String htmlContent = createBudgetAlert100Html(budget);
             helper.setText(htmlContent, true);
             
-            mailSender.send(message);
+            return dispatch(message);
         } catch (MessagingException e) {
             // Log error and send simple text email as fallback
-            sendSimpleBudgetAlert100(budget);
+            return sendSimpleBudgetAlert100(budget);
         }
     }
     
     /**
      * Send badge awarded notification
      */
-    public void sendBadgeAwardedNotification(User user, Badge badge) {
+    public CompletableFuture<Void> sendBadgeAwardedNotification(User user, Badge badge) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true);
@@ -87,17 +109,17 @@ public class EmailService {
             String htmlContent = createBadgeAwardedHtml(user, badge);
             helper.setText(htmlContent, true);
             
-            mailSender.send(message);
+            return dispatch(message);
         } catch (MessagingException e) {
             // Log error and send simple text email as fallback
-            sendSimpleBadgeNotification(user, badge);
+            return sendSimpleBadgeNotification(user, badge);
         }
     }
     
     /**
      * Send welcome email to new user
      */
-    public void sendWelcomeEmail(User user) {
+    public CompletableFuture<Void> sendWelcomeEmail(User user) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true);
@@ -109,17 +131,17 @@ public class EmailService {
             String htmlContent = createWelcomeEmailHtml(user);
             helper.setText(htmlContent, true);
             
-            mailSender.send(message);
+            return dispatch(message);
         } catch (MessagingException e) {
             // Log error and send simple text email as fallback
-            sendSimpleWelcomeEmail(user);
+            return sendSimpleWelcomeEmail(user);
         }
     }
     
     /**
      * Send monthly report email
      */
-    public void sendMonthlyReport(User user, String reportContent) {
+    public CompletableFuture<Void> sendMonthlyReport(User user, String reportContent) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true);
@@ -131,10 +153,33 @@ public class EmailService {
             String htmlContent = createMonthlyReportHtml(user, reportContent);
             helper.setText(htmlContent, true);
             
-            mailSender.send(message);
+            return dispatch(message);
         } catch (MessagingException e) {
             // Log error
             System.err.println("Failed to send monthly report email to: " + user.getEmail());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    /**
+     * Send weekly summary email; throws MailPreparationException if the message cannot be composed
+     */
+    public CompletableFuture<Void> sendWeeklySummary(User user, WeeklySummary summary) {
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+            
+            helper.setFrom(fromEmail);
+            helper.setTo(user.getEmail());
+            helper.setSubject("🗓️ Your Weekly Spending Summary - " + APP_NAME);
+            
+            String htmlContent = createWeeklySummaryHtml(user, summary);
+            helper.setText(htmlContent, true);
+            
+            return dispatch(message);
+        } catch (MessagingException e) {
+            // Let the job see the failure, so this user is neither counted nor checkpointed
+            throw new MailPreparationException("Could not compose weekly summary for " + user.getEmail(), e);
         }
     }
     
@@ -419,9 +464,65 @@ public class EmailService {
         );
     }
     
+    private String createWeeklySummaryHtml(User user, WeeklySummary summary) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd MMM yyyy");
+        StringBuilder rows = new StringBuilder();
+        summary.getCategoryTotals().entrySet().stream()
+            .sorted(Map.Entry.<Expense.Category, BigDecimal>comparingByValue().reversed())
+            .forEach(entry -> rows.append(String.format(
+                "<li>%s %s: <strong>₹%s</strong></li>",
+                entry.getKey().getIcon(), entry.getKey().getDisplayName(), entry.getValue())));
+        
+        return String.format("""
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background: linear-gradient(135deg, #667eea 0%%, #4ecdc4 100%%); color: white; padding: 20px; text-align: center; border-radius: 10px 10px 0 0; }
+                    .content { background: #f9f9f9; padding: 30px; border-radius: 0 0 10px 10px; }
+                    .btn { display: inline-block; background: #667eea; color: white; padding: 12px 24px; text-decoration: none; border-radius: 5px; margin: 10px 0; }
+                    .footer { text-align: center; margin-top: 20px; color: #666; font-size: 12px; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>🗓️ Weekly Summary</h1>
+                        <p>%s - %s</p>
+                    </div>
+                    <div class="content">
+                        <h3>Hello %s!</h3>
+                        <p>You logged <strong>%d expenses</strong> totalling <strong>₹%s</strong> this week.</p>
+                        
+                        <h4>By Category:</h4>
+                        <ul>
+                            %s
+                        </ul>
+                        
+                        <a href="http://localhost:8080/user/dashboard" class="btn">View Dashboard</a>
+                    </div>
+                    <div class="footer">
+                        <p>This is an automated weekly summary from %s.</p>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """,
+            summary.getWeekStart().format(formatter),
+            summary.getWeekEnd().format(formatter),
+            user.getFullName(),
+            summary.getExpenseCount(),
+            summary.getTotalAmount(),
+            rows,
+            APP_NAME
+        );
+    }
+    
     // Fallback simple text email methods
     
-    private void sendSimpleBudgetAlert80(Budget budget) {
+    private CompletableFuture<Void> sendSimpleBudgetAlert80(Budget budget) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setFrom(fromEmail);
         message.setTo(budget.getUser().getEmail());
@@ -444,10 +545,10 @@ public class EmailService {
             APP_NAME
         ));
         
-        mailSender.send(message);
+        return dispatch(message);
     }
     
-    private void sendSimpleBudgetAlert100(Budget budget) {
+    private CompletableFuture<Void> sendSimpleBudgetAlert100(Budget budget) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setFrom(fromEmail);
         message.setTo(budget.getUser().getEmail());
@@ -470,10 +571,10 @@ public class EmailService {
             APP_NAME
         ));
         
-        mailSender.send(message);
+        return dispatch(message);
     }
     
-    private void sendSimpleBadgeNotification(User user, Badge badge) {
+    private CompletableFuture<Void> sendSimpleBadgeNotification(User user, Badge badge) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setFrom(fromEmail);
         message.setTo(user.getEmail());
@@ -496,10 +597,10 @@ public class EmailService {
             APP_NAME
         ));
         
-        mailSender.send(message);
+        return dispatch(message);
     }
     
-    private void sendSimpleWelcomeEmail(User user) {
+    private CompletableFuture<Void> sendSimpleWelcomeEmail(User user) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setFrom(fromEmail);
         message.setTo(user.getEmail());
@@ -517,6 +618,35 @@ public class EmailService {
             APP_NAME
         ));
         
-        mailSender.send(message);
+        return dispatch(message);
+    }
+    
+    // Delivery
+    
+    /**
+     * Deliver message on the mail executor. Composition stays on the caller,
+     * where lazily loaded users and budgets are still readable. The returned
+     * future completes once the SMTP server has accepted the message, and
+     * completes exceptionally if delivery failed or the executor refused it.
+     */
+    private CompletableFuture<Void> dispatch(MimeMessage message) {
+        return deliver(() -> mailSender.send(message), "");
+    }
+    
+    private CompletableFuture<Void> dispatch(SimpleMailMessage message) {
+        return deliver(() -> mailSender.send(message), " to " + String.join(", ", message.getTo()));
+    }
+    
+    private CompletableFuture<Void> deliver(Runnable send, String recipient) {
+        try {
+            return CompletableFuture.runAsync(send, mailExecutor).whenComplete((result, failure) -> {
+                if (failure != null) {
+                    logger.warn("Failed to deliver email{}: {}", recipient, failure.getMessage());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            logger.warn("Mail queue full, email{} not sent: {}", recipient, e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,298 @@
+package com.expensemate.service;
+
+import com.expensemate.entity.DeletedRecord;
+import com.expensemate.entity.Expense;
+import com.expensemate.entity.User;
+import com.expensemate.repository.ExpenseRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for executing batches of expense create/update/delete
+ * operations in a single transaction
+ */
+@Service
+@Transactional(timeout = SyncService.WRITE_TIMEOUT_SECONDS)
+public class ExpenseBatchService {
+
+    public static final int MAX_OPERATIONS = 500;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private SpendingStreakService spendingStreakService;
+
+    @Autowired
+    private Validator validator;
+
+    /**
+     * Execute all operations for user. Each operation gets its own result;
+     * budgets are recalculated once per affected month and badges are
+     * checked once for the whole batch.
+     */
+    public BatchResult executeBatch(User user, List<BatchOperation> operations) {
+        Map<Long, Expense> existing = loadReferencedExpenses(operations);
+        Set<YearMonth> affectedMonths = new TreeSet<>();
+        Set<LocalDate> loggedDates = new HashSet<>();
+        List<ItemResult> results = new ArrayList<>(operations.size());
+
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            ItemResult result = new ItemResult(i, operation.getClientRef());
+
+            try {
+                if (operation.getOp() == null) {
+                    throw new IllegalArgumentException("op is required (CREATE, UPDATE or DELETE)");
+                }
+                switch (operation.getOp()) {
+                    case CREATE:
+                        create(user, operation, result, affectedMonths, loggedDates);
+                        break;
+                    case UPDATE:
+                        update(user, operation, existing, result, affectedMonths);
+                        break;
+                    case DELETE:
+                        delete(user, operation, existing, result, affectedMonths);
+                        break;
+                }
+            } catch (IllegalArgumentException e) {
+                result.fail(ItemStatus.INVALID, e.getMessage());
+            }
+
+            results.add(result);
+        }
+
+        if (!affectedMonths.isEmpty()) {
+            // Updates and deletes can take a day out of the streak, so rebuild it
+            boolean datesRemoved = results.stream().anyMatch(r ->
+                    r.getStatus() == ItemStatus.UPDATED || r.getStatus() == ItemStatus.DELETED);
+            if (datesRemoved) {
+                spendingStreakService.recomputeStreak(user);
+            } else {
+                spendingStreakService.recordExpenseDates(user, loggedDates);
+            }
+            expenseService.refreshBudgetsAndBadges(user, affectedMonths);
+        }
+
+        return new BatchResult(results);
+    }
+
+    private Map<Long, Expense> loadReferencedExpenses(List<BatchOperation> operations) {
+        Set<Long> ids = operations.stream()
+                .filter(op -> op.getOp() == OperationType.UPDATE || op.getOp() == OperationType.DELETE)
+                .map(BatchOperation::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return expenseRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Expense::getId, Function.identity()));
+    }
+
+    private void create(User user, BatchOperation operation, ItemResult result,
+                        Set<YearMonth> affectedMonths, Set<LocalDate> loggedDates) {
+        Expense expense = new Expense();
+        expense.setUser(user);
+        applyChanges(expense, operation);
+        validate(expense);
+
+        Expense saved = expenseRepository.save(expense);
+        affectedMonths.add(YearMonth.from(saved.getExpenseDate()));
+        loggedDates.add(saved.getExpenseDate());
+        result.succeed(ItemStatus.CREATED, saved.getId());
+    }
+
+    private void update(User user, BatchOperation operation, Map<Long, Expense> existing,
+                        ItemResult result, Set<YearMonth> affectedMonths) {
+        Expense expense = findOwnedExpense(user, operation, existing, result);
+        if (expense == null) {
+            return;
+        }
+
+        // Validate on a copy so a rejected update never dirties the managed entity
+        Expense candidate = new Expense(expense.getDescription(), expense.getAmount(),
+            expense.getCategory(), expense.getExpenseDate(), user);
+        candidate.setNotes(expense.getNotes());
+        applyChanges(candidate, operation);
+        validate(candidate);
+
+        YearMonth previousMonth = YearMonth.from(expense.getExpenseDate());
+        applyChanges(expense, operation);
+
+        affectedMonths.add(previousMonth);
+        affectedMonths.add(YearMonth.from(expense.getExpenseDate()));
+        result.succeed(ItemStatus.UPDATED, expense.getId());
+    }
+
+    private void delete(User user, BatchOperation operation, Map<Long, Expense> existing,
+                        ItemResult result, Set<YearMonth> affectedMonths) {
+        Expense expense = findOwnedExpense(user, operation, existing, result);
+        if (expense == null) {
+            return;
+        }
+
+        expenseRepository.delete(expense);
+        syncService.recordDeletion(DeletedRecord.EntityType.EXPENSE, expense.getId(), user);
+        existing.remove(expense.getId());
+
+        affectedMonths.add(YearMonth.from(expense.getExpenseDate()));
+        result.succeed(ItemStatus.DELETED, expense.getId());
+    }
+
+    private Expense findOwnedExpense(User user, BatchOperation operation, Map<Long, Expense> existing,
+                                     ItemResult result) {
+        if (operation.getId() == null) {
+            throw new IllegalArgumentException("id is required for " + operation.getOp());
+        }
+
+        Expense expense = existing.get(operation.getId());
+        if (expense == null || !expense.getUser().getId().equals(user.getId())) {
+            // Do not reveal whether another user's expense exists
+            result.fail(ItemStatus.NOT_FOUND, "Expense not found: " + operation.getId());
+            return null;
+        }
+
+        return expense;
+    }
+
+    private void applyChanges(Expense expense, BatchOperation operation) {
+        if (operation.getDescription() != null) expense.setDescription(operation.getDescription());
+        if (operation.getAmount() != null) expense.setAmount(operation.getAmount());
+        if (operation.getCategory() != null) expense.setCategory(operation.getCategory());
+        if (operation.getExpenseDate() != null) expense.setExpenseDate(operation.getExpenseDate());
+        if (operation.getNotes() != null) expense.setNotes(operation.getNotes());
+    }
+
+    private void validate(Expense expense) {
+        Set<ConstraintViolation<Expense>> violations = validator.validate(expense);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    /**
+     * Batch operation types
+     */
+    public enum OperationType {
+        CREATE, UPDATE, DELETE
+    }
+
+    /**
+     * Per-item outcome
+     */
+    public enum ItemStatus {
+        CREATED, UPDATED, DELETED, NOT_FOUND, INVALID
+    }
+
+    /**
+     * Inner class for a single requested operation
+     */
+    public static class BatchOperation {
+        private OperationType op;
+        private Long id;
+        private String clientRef;
+        private String description;
+        private BigDecimal amount;
+        private Expense.Category category;
+        private LocalDate expenseDate;
+        private String notes;
+
+        // Getters and Setters
+        public OperationType getOp() { return op; }
+        public void setOp(OperationType op) { this.op = op; }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public String getClientRef() { return clientRef; }
+        public void setClientRef(String clientRef) { this.clientRef = clientRef; }
+
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+
+        public BigDecimal getAmount() { return amount; }
+        public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+        public Expense.Category getCategory() { return category; }
+        public void setCategory(Expense.Category category) { this.category = category; }
+
+        public LocalDate getExpenseDate() { return expenseDate; }
+        public void setExpenseDate(LocalDate expenseDate) { this.expenseDate = expenseDate; }
+
+        public String getNotes() { return notes; }
+        public void setNotes(String notes) { this.notes = notes; }
+    }
+
+    /**
+     * Inner class for the result of a single operation
+     */
+    public static class ItemResult {
+        private final int index;
+        private final String clientRef;
+        private ItemStatus status;
+        private Long id;
+        private String error;
+
+        public ItemResult(int index, String clientRef) {
+            this.index = index;
+            this.clientRef = clientRef;
+        }
+
+        private void succeed(ItemStatus status, Long id) {
+            this.status = status;
+            this.id = id;
+        }
+
+        private void fail(ItemStatus status, String error) {
+            this.status = status;
+            this.error = error;
+        }
+
+        // Getters
+        public int getIndex() { return index; }
+        public String getClientRef() { return clientRef; }
+        public ItemStatus getStatus() { return status; }
+        public Long getId() { return id; }
+        public String getError() { return error; }
+        public boolean isSuccess() { return error == null; }
+    }
+
+    /**
+     * Inner class for batch results
+     */
+    public static class BatchResult {
+        private final List<ItemResult> results;
+
+        public BatchResult(List<ItemResult> results) {
+            this.results = results;
+        }
+
+        // Getters
+        public List<ItemResult> getResults() { return results; }
+        public long getSucceeded() { return results.stream().filter(ItemResult::isSuccess).count(); }
+        public long getFailed() { return results.size() - getSucceeded(); }
+    }
+}
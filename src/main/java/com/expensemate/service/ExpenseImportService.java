@@ -0,0 +1,621 @@
+package com.expensemate.service;
+
+import com.expensemate.entity.Expense;
+import com.expensemate.entity.User;
+import com.expensemate.repository.ExpenseRepository;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for importing expenses from bank-statement CSV files
+ */
+@Service
+@Transactional
+public class ExpenseImportService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final int MAX_REPORTED_ERRORS = 50;
+
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+
+    private static final int MAX_NOTES_LENGTH = 500;
+
+    /**
+     * Column definition of expenses.amount: precision 10, scale 2
+     */
+    private static final int MAX_AMOUNT_SCALE = 2;
+    private static final int MAX_AMOUNT_INTEGER_DIGITS = 8;
+
+    /**
+     * Supported date formats. Numeric day-first and month-first dates such as
+     * 03/04/2024 read differently under each, so one format is chosen for the
+     * whole file (see DateParser).
+     */
+    private static final List<DateFormat> DATE_FORMATS = List.of(
+        new DateFormat(DateTimeFormatter.ISO_LOCAL_DATE, null),
+        new DateFormat(DateTimeFormatter.ofPattern("dd/MM/yyyy"), DateOrder.DAY_FIRST),
+        new DateFormat(DateTimeFormatter.ofPattern("dd-MM-yyyy"), DateOrder.DAY_FIRST),
+        new DateFormat(DateTimeFormatter.ofPattern("dd.MM.yyyy"), DateOrder.DAY_FIRST),
+        new DateFormat(DateTimeFormatter.ofPattern("dd/MM/yy"), DateOrder.DAY_FIRST),
+        new DateFormat(DateTimeFormatter.ofPattern("d MMM yyyy", Locale.ENGLISH), null),
+        new DateFormat(DateTimeFormatter.ofPattern("dd-MMM-yyyy", Locale.ENGLISH), null),
+        new DateFormat(DateTimeFormatter.ofPattern("MM/dd/yyyy"), DateOrder.MONTH_FIRST)
+    );
+
+    private static final List<String> DATE_HEADERS = List.of(
+        "date", "transaction date", "txn date", "posting date", "value date");
+    private static final List<String> DESCRIPTION_HEADERS = List.of(
+        "description", "narration", "details", "particulars", "transaction details", "merchant", "payee");
+    private static final List<String> AMOUNT_HEADERS = List.of(
+        "amount", "transaction amount", "amount (inr)");
+    private static final List<String> DEBIT_HEADERS = List.of(
+        "debit", "debit amount", "withdrawal", "withdrawal amount", "withdrawal amt.", "dr");
+    private static final List<String> CREDIT_HEADERS = List.of(
+        "credit", "credit amount", "deposit", "deposit amount", "deposit amt.", "cr");
+    private static final List<String> CATEGORY_HEADERS = List.of("category");
+    private static final List<String> NOTES_HEADERS = List.of(
+        "notes", "note", "memo", "reference", "ref no", "ref no./cheque no.", "remarks");
+
+    /**
+     * Keyword heuristics used when the statement has no usable category column.
+     * Order matters: the first matching category wins.
+     */
+    private static final Map<Expense.Category, Pattern> CATEGORY_KEYWORDS = new LinkedHashMap<>();
+
+    static {
+        CATEGORY_KEYWORDS.put(Expense.Category.RENT, keywords("rent", "landlord", "housing", "maintenance charge"));
+        CATEGORY_KEYWORDS.put(Expense.Category.INSURANCE, keywords("insurance", "premium", "policy", "lic"));
+        CATEGORY_KEYWORDS.put(Expense.Category.INVESTMENT, keywords("mutual fund", "sip", "zerodha", "groww", "stock", "investment"));
+        CATEGORY_KEYWORDS.put(Expense.Category.UTILITIES, keywords("electricity", "water bill", "gas bill", "broadband", "internet", "recharge", "mobile bill", "utility", "dth"));
+        CATEGORY_KEYWORDS.put(Expense.Category.GROCERIES, keywords("grocery", "groceries", "supermarket", "bigbasket", "blinkit", "dmart", "walmart", "kirana"));
+        CATEGORY_KEYWORDS.put(Expense.Category.FOOD, keywords("swiggy", "zomato", "restaurant", "cafe", "coffee", "pizza", "burger", "dining", "food", "lunch", "dinner"));
+        CATEGORY_KEYWORDS.put(Expense.Category.TRAVEL, keywords("uber", "ola", "rapido", "fuel", "petrol", "diesel", "metro", "railway", "irctc", "airline", "flight", "taxi", "parking", "toll"));
+        CATEGORY_KEYWORDS.put(Expense.Category.HEALTHCARE, keywords("pharmacy", "hospital", "clinic", "doctor", "medical", "apollo", "diagnostic", "gym"));
+        CATEGORY_KEYWORDS.put(Expense.Category.EDUCATION, keywords("tuition", "school", "college", "course", "udemy", "coursera", "books", "exam fee"));
+        CATEGORY_KEYWORDS.put(Expense.Category.ENTERTAINMENT, keywords("netflix", "spotify", "prime video", "hotstar", "movie", "cinema", "pvr", "bookmyshow", "concert"));
+        CATEGORY_KEYWORDS.put(Expense.Category.SHOPPING, keywords("amazon", "flipkart", "myntra", "ajio", "mall", "store", "shopping"));
+    }
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private SpendingStreakService spendingStreakService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Each batch writes expenses, so it runs under the sync write timeout
+     */
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void initTransactionTemplate() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setTimeout(SyncService.WRITE_TIMEOUT_SECONDS);
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Import expenses from a CSV bank statement, detecting the date order
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportResult importCsv(User user, InputStream inputStream) throws IOException {
+        return importCsv(user, inputStream, null);
+    }
+
+    /**
+     * Import expenses from a CSV bank statement.
+     * Rows are streamed and inserted in batches of BATCH_SIZE, each committed
+     * in its own transaction, so a long import holds no locks between
+     * batches. If a batch cannot be written the import stops there: rows
+     * already committed stay imported and the result says where it stopped.
+     * Budgets and badges are recalculated once per affected month after the
+     * last batch.
+     * The date format is chosen once for the whole file: dateOrder, if
+     * given, settles day-first against month-first dates; otherwise rows are
+     * held back until a date such as 25/03/2024 decides it, and a file whose
+     * dates stay ambiguous is rejected.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportResult importCsv(User user, InputStream inputStream, DateOrder dateOrder) throws IOException {
+        ImportResult result = new ImportResult();
+
+        try (CSVReader reader = new CSVReaderBuilder(new BufferedReader(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8))).build()) {
+
+            String[] header = reader.readNext();
+            if (header == null) {
+                throw new IllegalArgumentException("The CSV file is empty");
+            }
+            ColumnMapping columns = ColumnMapping.fromHeader(header);
+            DateParser dates = new DateParser(dateOrder);
+
+            RowSink sink = new RowSink(user, columns, dates, result);
+            List<PendingRow> pending = new ArrayList<>();
+            String[] row;
+            long lineNumber = 1;
+
+            while (!sink.isStopped() && (row = reader.readNext()) != null) {
+                lineNumber++;
+                if (isBlank(row)) {
+                    continue;
+                }
+
+                dates.narrow(value(row, columns.date));
+                if (dates.isResolved() || pending.isEmpty() && !dates.isAmbiguous(value(row, columns.date))) {
+                    for (PendingRow held : pending) {
+                        sink.accept(held.row, held.lineNumber);
+                    }
+                    pending.clear();
+                    sink.accept(row, lineNumber);
+                } else {
+                    // Day and month could still be either way round; decide once a later row settles it
+                    pending.add(new PendingRow(row, lineNumber));
+                }
+            }
+
+            for (PendingRow held : pending) {
+                if (dates.isAmbiguous(value(held.row, columns.date))) {
+                    throw new IllegalArgumentException("Dates such as '" + value(held.row, columns.date)
+                        + "' can be read day-first or month-first; choose the date order and import again");
+                }
+            }
+            for (PendingRow held : pending) {
+                sink.accept(held.row, held.lineNumber);
+            }
+
+            sink.finish(lineNumber);
+        } catch (CsvValidationException e) {
+            throw new IllegalArgumentException("Malformed CSV file: " + e.getMessage(), e);
+        }
+
+        return result;
+    }
+
+    /**
+     * Maps rows to expenses and writes them in batches
+     */
+    private class RowSink {
+        private final User user;
+        private final ColumnMapping columns;
+        private final DateParser dates;
+        private final ImportResult result;
+        private final List<Expense> batch = new ArrayList<>(BATCH_SIZE);
+        private long batchStartLine;
+        private boolean stopped;
+
+        // Months and days of committed rows only
+        private final Set<YearMonth> affectedMonths = new TreeSet<>();
+        private final Set<LocalDate> loggedDates = new HashSet<>();
+
+        RowSink(User user, ColumnMapping columns, DateParser dates, ImportResult result) {
+            this.user = user;
+            this.columns = columns;
+            this.dates = dates;
+            this.result = result;
+        }
+
+        boolean isStopped() {
+            return stopped;
+        }
+
+        void accept(String[] row, long lineNumber) {
+            if (stopped) {
+                return;
+            }
+            try {
+                Expense expense = mapRow(row, columns, dates, user);
+                if (expense == null) {
+                    result.skipped++;
+                    return;
+                }
+
+                if (batch.isEmpty()) {
+                    batchStartLine = lineNumber;
+                }
+                batch.add(expense);
+
+                if (batch.size() >= BATCH_SIZE) {
+                    flushBatch(lineNumber);
+                }
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                result.addError("Line " + lineNumber + ": " + e.getMessage());
+            }
+        }
+
+        void finish(long lastLine) {
+            if (!stopped) {
+                flushBatch(lastLine);
+            }
+
+            if (!affectedMonths.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    spendingStreakService.recordExpenseDates(user, loggedDates);
+                    expenseService.refreshBudgetsAndBadges(user, affectedMonths);
+                });
+            }
+            result.affectedMonths.addAll(affectedMonths);
+        }
+
+        private void flushBatch(long endLine) {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    expenseRepository.saveAll(batch);
+                    // Keep the (request-scoped) persistence context from growing with the file
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+            } catch (RuntimeException e) {
+                stopped = true;
+                result.stoppedAtLine = batchStartLine;
+                result.addError("Lines " + batchStartLine + "-" + endLine
+                    + " could not be saved, import stopped: " + e.getMessage());
+                batch.clear();
+                return;
+            }
+
+            for (Expense expense : batch) {
+                affectedMonths.add(YearMonth.from(expense.getExpenseDate()));
+                loggedDates.add(expense.getExpenseDate());
+            }
+            result.imported += batch.size();
+            batch.clear();
+        }
+    }
+
+    /**
+     * Map a CSV row to an expense, or return null for rows that are not
+     * expenses (credits, zero amounts). Rows that would violate the Expense
+     * constraints are rejected here, so they are reported as errors instead
+     * of failing the batch insert.
+     */
+    private Expense mapRow(String[] row, ColumnMapping columns, DateParser dates, User user) {
+        String rawDate = value(row, columns.date);
+        String description = value(row, columns.description);
+
+        if (rawDate.isEmpty()) {
+            throw new IllegalArgumentException("missing date");
+        }
+        if (description.isEmpty()) {
+            throw new IllegalArgumentException("missing description");
+        }
+
+        BigDecimal amount;
+        if (columns.amount >= 0) {
+            // Single signed column: positive (or DR) is spending; negative, bracketed or CR is money in
+            amount = parseAmount(value(row, columns.amount));
+            if (amount.signum() <= 0) {
+                return null;
+            }
+        } else {
+            BigDecimal debit = parseAmount(value(row, columns.debit));
+            if (debit.signum() == 0) {
+                // Credit-only row (salary, refunds, transfers in)
+                return null;
+            }
+            // Some banks print debits as negative numbers in the debit column
+            amount = debit.abs();
+        }
+
+        checkAmountFits(amount);
+
+        Expense expense = new Expense(
+            truncate(description, MAX_DESCRIPTION_LENGTH),
+            amount,
+            resolveCategory(value(row, columns.category), description),
+            dates.parse(rawDate),
+            user);
+
+        String notes = value(row, columns.notes);
+        if (!notes.isEmpty()) {
+            expense.setNotes(truncate(notes, MAX_NOTES_LENGTH));
+        }
+
+        Set<ConstraintViolation<Expense>> violations = validator.validate(expense);
+        if (!violations.isEmpty()) {
+            StringJoiner messages = new StringJoiner("; ");
+            violations.forEach(violation -> messages.add(violation.getMessage()));
+            throw new IllegalArgumentException(messages.toString());
+        }
+
+        return expense;
+    }
+
+    /**
+     * Reject amounts that do not fit expenses.amount
+     */
+    private static void checkAmountFits(BigDecimal amount) {
+        BigDecimal stripped = amount.stripTrailingZeros();
+        if (stripped.scale() > MAX_AMOUNT_SCALE) {
+            throw new IllegalArgumentException("amount " + amount.toPlainString()
+                + " has more than " + MAX_AMOUNT_SCALE + " decimal places");
+        }
+        if (stripped.precision() - stripped.scale() > MAX_AMOUNT_INTEGER_DIGITS) {
+            throw new IllegalArgumentException("amount " + amount.toPlainString() + " is too large");
+        }
+    }
+
+    /**
+     * Resolve category from an explicit column value, falling back to
+     * keyword heuristics on the description
+     */
+    private Expense.Category resolveCategory(String categoryValue, String description) {
+        if (!categoryValue.isEmpty()) {
+            for (Expense.Category category : Expense.Category.values()) {
+                if (category.name().equalsIgnoreCase(categoryValue)
+                        || category.getDisplayName().equalsIgnoreCase(categoryValue)) {
+                    return category;
+                }
+            }
+        }
+
+        String text = (categoryValue + " " + description).toLowerCase(Locale.ROOT);
+        for (Map.Entry<Expense.Category, Pattern> entry : CATEGORY_KEYWORDS.entrySet()) {
+            if (entry.getValue().matcher(text).find()) {
+                return entry.getKey();
+            }
+        }
+
+        return Expense.Category.OTHER;
+    }
+
+    private static Pattern keywords(String... words) {
+        StringJoiner alternatives = new StringJoiner("|", "\\b(?:", ")\\b");
+        for (String word : words) {
+            alternatives.add(Pattern.quote(word));
+        }
+        return Pattern.compile(alternatives.toString());
+    }
+
+    /**
+     * Signed amount of a cell: a leading minus, brackets or a CR suffix make
+     * it negative (money in), a DR suffix makes it positive (money out)
+     */
+    private BigDecimal parseAmount(String value) {
+        if (value.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        String normalized = value.trim();
+        String upper = normalized.toUpperCase(Locale.ROOT);
+        boolean debit = upper.endsWith("DR");
+        boolean credit = upper.endsWith("CR") || (normalized.startsWith("(") && normalized.endsWith(")"));
+
+        normalized = normalized.replaceAll("(?i)(cr|dr|inr|rs\\.?)", "")
+                               .replaceAll("[^0-9.\\-]", "");
+        if (normalized.isEmpty() || normalized.equals("-") || normalized.equals(".")) {
+            throw new IllegalArgumentException("unrecognised amount '" + value + "'");
+        }
+
+        try {
+            BigDecimal amount = new BigDecimal(normalized);
+            if (debit) {
+                return amount.abs();
+            }
+            return credit ? amount.abs().negate() : amount;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("unrecognised amount '" + value + "'");
+        }
+    }
+
+    private static String value(String[] row, int index) {
+        if (index < 0 || index >= row.length || row[index] == null) {
+            return "";
+        }
+        return row[index].trim();
+    }
+
+    private static boolean isBlank(String[] row) {
+        for (String cell : row) {
+            if (cell != null && !cell.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    /**
+     * Order of day and month in numeric dates
+     */
+    public enum DateOrder {
+        DAY_FIRST,
+        MONTH_FIRST
+    }
+
+    /**
+     * A supported date format; order is null where day and month cannot be confused
+     */
+    private static class DateFormat {
+        private final DateTimeFormatter formatter;
+        private final DateOrder order;
+
+        DateFormat(DateTimeFormatter formatter, DateOrder order) {
+            this.formatter = formatter;
+            this.order = order;
+        }
+
+        LocalDate tryParse(String value) {
+            try {
+                return LocalDate.parse(value, formatter);
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Date formats still consistent with every date seen in the file. Each
+     * date narrows the candidates to the formats that can parse it, so once
+     * a date like 25/03/2024 has been seen every later date is read the same
+     * way, and a date that only fits another format is reported as an error.
+     */
+    private static class DateParser {
+        private List<DateFormat> candidates;
+
+        DateParser(DateOrder dateOrder) {
+            candidates = DATE_FORMATS.stream()
+                .filter(format -> dateOrder == null || format.order == null || format.order == dateOrder)
+                .collect(Collectors.toList());
+        }
+
+        void narrow(String value) {
+            List<DateFormat> matching = candidates.stream()
+                .filter(format -> format.tryParse(value) != null)
+                .collect(Collectors.toList());
+            // Unparseable values leave the candidates alone; the row is reported when mapped
+            if (!matching.isEmpty()) {
+                candidates = matching;
+            }
+        }
+
+        /**
+         * Whether a single format is left, so every later date reads one way
+         */
+        boolean isResolved() {
+            return candidates.size() == 1;
+        }
+
+        /**
+         * Whether the remaining formats read value as different dates
+         */
+        boolean isAmbiguous(String value) {
+            return candidates.stream()
+                .map(format -> format.tryParse(value))
+                .filter(Objects::nonNull)
+                .distinct()
+                .count() > 1;
+        }
+
+        LocalDate parse(String value) {
+            for (DateFormat format : candidates) {
+                LocalDate date = format.tryParse(value);
+                if (date != null) {
+                    return date;
+                }
+            }
+            throw new IllegalArgumentException("date '" + value + "' does not match the date format of this file");
+        }
+    }
+
+    /**
+     * A row held back until the file's date order is known
+     */
+    private static class PendingRow {
+        private final String[] row;
+        private final long lineNumber;
+
+        PendingRow(String[] row, long lineNumber) {
+            this.row = row;
+            this.lineNumber = lineNumber;
+        }
+    }
+
+    /**
+     * Column positions detected from the CSV header row
+     */
+    private static class ColumnMapping {
+        private int date = -1;
+        private int description = -1;
+        private int amount = -1;
+        private int debit = -1;
+        private int credit = -1;
+        private int category = -1;
+        private int notes = -1;
+
+        static ColumnMapping fromHeader(String[] header) {
+            ColumnMapping mapping = new ColumnMapping();
+
+            for (int i = 0; i < header.length; i++) {
+                String name = header[i] == null ? "" : header[i].replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+
+                if (mapping.date < 0 && DATE_HEADERS.contains(name)) mapping.date = i;
+                else if (mapping.description < 0 && DESCRIPTION_HEADERS.contains(name)) mapping.description = i;
+                else if (mapping.amount < 0 && AMOUNT_HEADERS.contains(name)) mapping.amount = i;
+                else if (mapping.debit < 0 && DEBIT_HEADERS.contains(name)) mapping.debit = i;
+                else if (mapping.credit < 0 && CREDIT_HEADERS.contains(name)) mapping.credit = i;
+                else if (mapping.category < 0 && CATEGORY_HEADERS.contains(name)) mapping.category = i;
+                else if (mapping.notes < 0 && NOTES_HEADERS.contains(name)) mapping.notes = i;
+            }
+
+            if (mapping.date < 0 || mapping.description < 0 || (mapping.amount < 0 && mapping.debit < 0)) {
+                throw new IllegalArgumentException(
+                    "CSV header must contain date, description and amount (or debit) columns");
+            }
+
+            return mapping;
+        }
+    }
+
+    /**
+     * Inner class for import results
+     */
+    public static class ImportResult {
+        private int imported;
+        private int skipped;
+        private int failed;
+        private Long stoppedAtLine;
+        private final List<String> errors = new ArrayList<>();
+        private final List<YearMonth> affectedMonths = new ArrayList<>();
+
+        private void addError(String error) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        // Getters
+        public int getImported() { return imported; }
+        public int getSkipped() { return skipped; }
+        public int getFailed() { return failed; }
+        public Long getStoppedAtLine() { return stoppedAtLine; }
+        public boolean isStopped() { return stoppedAtLine != null; }
+        public List<String> getErrors() { return errors; }
+        public List<YearMonth> getAffectedMonths() { return affectedMonths; }
+    }
+}
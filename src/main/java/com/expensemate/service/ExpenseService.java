@@ -1,8 +1,11 @@
 package com.expensemate.service;
 
+import com.expensemate.dto.ExpenseFilter;
+import com.expensemate.entity.DeletedRecord;
 import com.expensemate.entity.Expense;
 import com.expensemate.entity.User;
 import com.expensemate.repository.ExpenseRepository;
+import com.expensemate.repository.SearchTerms;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -12,6 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.*;
@@ -21,9 +25,13 @@ import java.util.stream.Collectors;
  * Service class for Expense entity operations with analytics support
  */
 @Service
-@Transactional
+@Transactional(timeout = SyncService.WRITE_TIMEOUT_SECONDS)
 public class ExpenseService {
     
+    public static final int MAX_SEARCH_RESULTS = 200;
+    
+    public static final int MAX_PAGE_SIZE = 100;
+    
     @Autowired
     private ExpenseRepository expenseRepository;
     
@@ -33,12 +41,27 @@ public class ExpenseService {
     @Autowired
     private BadgeService badgeService;
     
+    @Autowired
+    private SyncService syncService;
+    
+    @Autowired
+    private SpendingStreakService spendingStreakService;
+    
     /**
      * Save or update expense
      */
     public Expense saveExpense(Expense expense) {
+        boolean update = expense.getId() != null;
         Expense savedExpense = expenseRepository.save(expense);
         
+        // Extend the spending streak before badges are checked against it; an
+        // edit may have moved the expense off a day, so it is rebuilt instead
+        if (update) {
+            spendingStreakService.recomputeStreak(expense.getUser());
+        } else {
+            spendingStreakService.recordExpense(expense.getUser(), expense.getExpenseDate());
+        }
+        
         // Update budget spent amount
         budgetService.updateBudgetSpentAmount(expense.getUser(), 
             YearMonth.from(expense.getExpenseDate()));
@@ -48,10 +71,23 @@ public class ExpenseService {
         
         return savedExpense;
     }
-    
+
+    /**
+     * Recalculate budgets for the affected months and check badges once
+     * after a bulk change to a user's expenses
+     */
+    public void refreshBudgetsAndBadges(User user, Collection<YearMonth> affectedMonths) {
+        for (YearMonth yearMonth : new TreeSet<>(affectedMonths)) {
+            budgetService.updateBudgetSpentAmount(user, yearMonth);
+        }
+
+        badgeService.checkAndAwardBadges(user);
+    }
+
     /**
      * Find expense by ID
      */
+    @Transactional(readOnly = true)
     public Optional<Expense> findById(Long id) {
         return expenseRepository.findById(id);
     }
@@ -59,6 +95,7 @@ public class ExpenseService {
     /**
      * Get all expenses for user
      */
+    @Transactional(readOnly = true)
     public List<Expense> getExpensesByUser(User user) {
         return expenseRepository.findByUserOrderByExpenseDateDesc(user);
     }
@@ -66,6 +103,7 @@ public class ExpenseService {
     /**
      * Get expenses by user with pagination
      */
+    @Transactional(readOnly = true)
     public Page<Expense> getExpensesByUser(User user, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("expenseDate").descending());
         return expenseRepository.findAll(pageable);
@@ -74,6 +112,7 @@ public class ExpenseService {
     /**
      * Get expenses by user and date range
      */
+    @Transactional(readOnly = true)
     public List<Expense> getExpensesByUserAndDateRange(User user, LocalDate startDate, LocalDate endDate) {
         return expenseRepository.findByUserAndExpenseDateBetweenOrderByExpenseDateDesc(user, startDate, endDate);
     }
@@ -81,6 +120,7 @@ public class ExpenseService {
     /**
      * Get expenses by user and category
      */
+    @Transactional(readOnly = true)
     public List<Expense> getExpensesByUserAndCategory(User user, Expense.Category category) {
         return expenseRepository.findByUserAndCategoryOrderByExpenseDateDesc(user, category);
     }
@@ -88,6 +128,7 @@ public class ExpenseService {
     /**
      * Get current month expenses for user
      */
+    @Transactional(readOnly = true)
     public List<Expense> getCurrentMonthExpenses(User user) {
         return expenseRepository.findCurrentMonthExpensesByUser(user);
     }
@@ -95,6 +136,7 @@ public class ExpenseService {
     /**
      * Get expenses for specific month and year
      */
+    @Transactional(readOnly = true)
     public List<Expense> getExpensesByMonthYear(User user, int month, int year) {
         return expenseRepository.findByUserAndMonthYear(user, month, year);
     }
@@ -102,6 +144,7 @@ public class ExpenseService {
     /**
      * Calculate total expenses for current month
      */
+    @Transactional(readOnly = true)
     public BigDecimal getCurrentMonthTotal(User user) {
         return expenseRepository.calculateCurrentMonthTotal(user);
     }
@@ -109,6 +152,7 @@ public class ExpenseService {
     /**
      * Calculate total expenses for specific month
      */
+    @Transactional(readOnly = true)
     public BigDecimal getMonthlyTotal(User user, int month, int year) {
         return expenseRepository.calculateMonthlyTotal(user, month, year);
     }
@@ -116,6 +160,7 @@ public class ExpenseService {
     /**
      * Get category-wise spending for current month
      */
+    @Transactional(readOnly = true)
     public Map<Expense.Category, BigDecimal> getCategoryWiseSpendingCurrentMonth(User user) {
         List<Object[]> results = expenseRepository.getCategoryWiseSpendingCurrentMonth(user);
         Map<Expense.Category, BigDecimal> categorySpending = new HashMap<>();
@@ -132,6 +177,7 @@ public class ExpenseService {
     /**
      * Get category-wise spending for specific month
      */
+    @Transactional(readOnly = true)
     public Map<Expense.Category, BigDecimal> getCategoryWiseSpending(User user, int month, int year) {
         List<Object[]> results = expenseRepository.getCategoryWiseSpending(user, month, year);
         Map<Expense.Category, BigDecimal> categorySpending = new HashMap<>();
@@ -148,6 +194,7 @@ public class ExpenseService {
     /**
      * Get monthly spending trend (last 12 months)
      */
+    @Transactional(readOnly = true)
     public Map<String, BigDecimal> getMonthlySpendingTrend(User user) {
         LocalDate startDate = LocalDate.now().minusMonths(11).withDayOfMonth(1);
         List<Object[]> results = expenseRepository.getMonthlySpendingTrend(user, startDate);
@@ -166,9 +213,26 @@ public class ExpenseService {
         return trendData;
     }
     
+    /**
+     * Chart data for the dashboard ("category", "monthly" or "daily").
+     * Read-write on purpose: it runs on the primary, so the data is never
+     * older than a data version read just before it (see DataVersionService).
+     */
+    public Object getChartData(User user, String type) {
+        switch (type) {
+            case "category":
+                return getCategoryWiseSpendingCurrentMonth(user);
+            case "monthly":
+                return getMonthlySpendingTrend(user);
+            default:
+                return getDailyExpensesCurrentMonth(user);
+        }
+    }
+    
     /**
      * Get daily expenses for current month
      */
+    @Transactional(readOnly = true)
     public Map<Integer, BigDecimal> getDailyExpensesCurrentMonth(User user) {
         List<Object[]> results = expenseRepository.getDailyExpensesCurrentMonth(user);
         Map<Integer, BigDecimal> dailyExpenses = new HashMap<>();
@@ -185,6 +249,7 @@ public class ExpenseService {
     /**
      * Count current month expenses
      */
+    @Transactional(readOnly = true)
     public long getCurrentMonthExpenseCount(User user) {
         return expenseRepository.countCurrentMonthExpenses(user);
     }
@@ -192,6 +257,7 @@ public class ExpenseService {
     /**
      * Count total expenses by user
      */
+    @Transactional(readOnly = true)
     public long getTotalExpenseCount(User user) {
         return expenseRepository.countByUser(user);
     }
@@ -199,6 +265,7 @@ public class ExpenseService {
     /**
      * Get recent expenses (last N days)
      */
+    @Transactional(readOnly = true)
     public List<Expense> getRecentExpenses(User user, int days) {
         LocalDate startDate = LocalDate.now().minusDays(days);
         return expenseRepository.findRecentExpenses(user, startDate);
@@ -207,32 +274,129 @@ public class ExpenseService {
     /**
      * Get top expenses by amount
      */
+    @Transactional(readOnly = true)
     public List<Expense> getTopExpensesByAmount(User user, int limit) {
         List<Expense> topExpenses = expenseRepository.findTopExpensesByAmount(user);
         return topExpenses.stream().limit(limit).collect(Collectors.toList());
     }
     
     /**
-     * Search expenses by description
+     * Search expenses by description and notes
      */
+    @Transactional(readOnly = true)
     public List<Expense> searchExpensesByDescription(User user, String keyword) {
-        return expenseRepository.findByUserAndDescriptionContaining(user, keyword);
+        return searchExpenses(user, keyword, null, null, null, null, null, MAX_SEARCH_RESULTS);
+    }
+    
+    /**
+     * Ranked search over description and notes with optional filters.
+     * Every term must match, each as a prefix ("gro" finds "groceries").
+     * Terms shorter than the full-text minimum token size fall back to a
+     * substring scan of the user's expenses.
+     */
+    @Transactional(readOnly = true)
+    public List<Expense> searchExpenses(User user, String keyword, Expense.Category category,
+                                        LocalDate startDate, LocalDate endDate,
+                                        BigDecimal minAmount, BigDecimal maxAmount, int limit) {
+        List<String> terms = SearchTerms.parse(keyword);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+        
+        if (!SearchTerms.isFullTextSearchable(terms)) {
+            // The filter query matches each term as a substring, newest first
+            ExpenseFilter filter = new ExpenseFilter();
+            filter.setText(keyword);
+            filter.setCategories(category != null ? List.of(category) : null);
+            filter.setStartDate(startDate);
+            filter.setEndDate(endDate);
+            filter.setMinAmount(minAmount);
+            filter.setMaxAmount(maxAmount);
+            return expenseRepository.findFilteredPage(user, filter, null, null, pageable.getPageSize());
+        }
+        
+        return expenseRepository.searchFullText(user.getId(), SearchTerms.toBooleanModeQuery(terms),
+            category != null ? category.name() : null,
+            startDate, endDate, minAmount, maxAmount, pageable);
+    }
+    
+    /**
+     * Get one keyset page of expenses matching the combined filter.
+     * The cursor is the nextCursor of the previous page (null for the first page).
+     */
+    @Transactional(readOnly = true)
+    public ExpensePage filterExpenses(User user, ExpenseFilter filter, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDate afterDate = null;
+        Long afterId = null;
+        
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = cursor.split("_", 2);
+            try {
+                afterDate = LocalDate.parse(parts[0]);
+                afterId = Long.valueOf(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+        
+        // Fetch one extra row to know whether another page exists
+        List<Expense> expenses = expenseRepository.findFilteredPage(user, filter, afterDate, afterId, pageSize + 1);
+        boolean hasMore = expenses.size() > pageSize;
+        if (hasMore) {
+            expenses = expenses.subList(0, pageSize);
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            Expense last = expenses.get(expenses.size() - 1);
+            nextCursor = last.getExpenseDate() + "_" + last.getId();
+        }
+        
+        return new ExpensePage(expenses, nextCursor);
+    }
+    
+    /**
+     * Get per-category and per-month counts for the combined filter
+     * from a single grouped query
+     */
+    @Transactional(readOnly = true)
+    public ExpenseFacets getExpenseFacets(User user, ExpenseFilter filter) {
+        Map<Expense.Category, Long> categoryCounts = new EnumMap<>(Expense.Category.class);
+        Map<String, Long> monthCounts = new TreeMap<>(Comparator.reverseOrder());
+        long totalCount = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        
+        for (Object[] result : expenseRepository.getFilteredFacets(user, filter)) {
+            Expense.Category category = (Expense.Category) result[0];
+            Integer year = (Integer) result[1];
+            Integer month = (Integer) result[2];
+            Long count = (Long) result[3];
+            BigDecimal amount = (BigDecimal) result[4];
+            
+            categoryCounts.merge(category, count, Long::sum);
+            monthCounts.merge(String.format("%04d-%02d", year, month), count, Long::sum);
+            totalCount += count;
+            totalAmount = totalAmount.add(amount);
+        }
+        
+        return new ExpenseFacets(categoryCounts, monthCounts, totalCount, totalAmount);
     }
     
     /**
      * Check if user has consecutive daily expenses
      */
+    @Transactional(readOnly = true)
     public boolean hasConsecutiveDailyExpenses(User user, int days) {
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusDays(days - 1);
-        
-        long distinctDays = expenseRepository.countDistinctExpenseDays(user, startDate, endDate);
-        return distinctDays >= days;
+        return spendingStreakService.hasStreakOf(user, days);
     }
     
     /**
      * Get average daily spending for current month
      */
+    @Transactional(readOnly = true)
     public BigDecimal getAverageDailySpending(User user) {
         BigDecimal average = expenseRepository.getAverageDailySpending(user);
         return average != null ? average : BigDecimal.ZERO;
@@ -241,25 +405,41 @@ public class ExpenseService {
     /**
      * Get top spending categories for user
      */
+    @Transactional(readOnly = true)
     public List<Expense.Category> getTopSpendingCategories(User user) {
         return expenseRepository.findTopSpendingCategories(user);
     }
     
     /**
-     * Get expense statistics for user
+     * Get expense statistics for user (one aggregate query)
      */
+    @Transactional(readOnly = true)
     public ExpenseStats getExpenseStats(User user) {
-        long totalExpenses = getTotalExpenseCount(user);
-        long currentMonthExpenses = getCurrentMonthExpenseCount(user);
-        BigDecimal totalAmount = getCurrentMonthTotal(user);
-        BigDecimal averageDaily = getAverageDailySpending(user);
+        YearMonth currentMonth = YearMonth.now();
+        Object[] row = expenseRepository.getExpenseStatsRow(user.getId(),
+            currentMonth.atDay(1), currentMonth.plusMonths(1).atDay(1)).get(0);
+        
+        long totalExpenses = ((Number) row[0]).longValue();
+        long currentMonthExpenses = ((Number) row[1]).longValue();
+        BigDecimal totalAmount = toBigDecimal(row[2]);
+        long expenseDays = ((Number) row[3]).longValue();
         
-        List<Expense.Category> topCategories = getTopSpendingCategories(user);
-        Expense.Category topCategory = topCategories.isEmpty() ? null : topCategories.get(0);
+        // Average over days with at least one expense, as the per-day AVG query did
+        BigDecimal averageDaily = expenseDays > 0
+            ? totalAmount.divide(BigDecimal.valueOf(expenseDays), 6, RoundingMode.HALF_UP)
+            : BigDecimal.ZERO;
+        Expense.Category topCategory = row[4] != null ? Expense.Category.valueOf((String) row[4]) : null;
         
         return new ExpenseStats(totalExpenses, currentMonthExpenses, totalAmount, averageDaily, topCategory);
     }
     
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+    
     /**
      * Delete expense
      */
@@ -274,6 +454,10 @@ public class ExpenseService {
             }
             
             expenseRepository.delete(expense);
+            syncService.recordDeletion(DeletedRecord.EntityType.EXPENSE, expense.getId(), user);
+            
+            // The deleted expense may have been the only one on its day
+            spendingStreakService.recomputeStreak(user);
             
             // Update budget spent amount
             budgetService.updateBudgetSpentAmount(user, YearMonth.from(expense.getExpenseDate()));
@@ -283,6 +467,7 @@ public class ExpenseService {
     /**
      * Get all categories with their usage count for user
      */
+    @Transactional(readOnly = true)
     public Map<Expense.Category, Long> getCategoryUsageStats(User user) {
         List<Expense> expenses = getExpensesByUser(user);
         return expenses.stream()
@@ -292,6 +477,7 @@ public class ExpenseService {
     /**
      * Check if user has used all expense categories
      */
+    @Transactional(readOnly = true)
     public boolean hasUsedAllCategories(User user) {
         Map<Expense.Category, Long> usage = getCategoryUsageStats(user);
         return usage.size() >= Expense.Category.values().length;
@@ -300,6 +486,7 @@ public class ExpenseService {
     /**
      * Get total expenses for all users (admin function)
      */
+    @Transactional(readOnly = true)
     public BigDecimal getTotalExpensesAllUsers() {
         BigDecimal total = expenseRepository.getTotalExpensesAllUsers();
         return total != null ? total : BigDecimal.ZERO;
@@ -308,6 +495,7 @@ public class ExpenseService {
     /**
      * Get user-wise total expenses (admin function)
      */
+    @Transactional(readOnly = true)
     public Map<User, BigDecimal> getUserWiseTotalExpenses() {
         List<Object[]> results = expenseRepository.getUserWiseTotalExpenses();
         Map<User, BigDecimal> userExpenses = new HashMap<>();
@@ -347,4 +535,46 @@ public class ExpenseService {
         public BigDecimal getAverageDaily() { return averageDaily; }
         public Expense.Category getTopCategory() { return topCategory; }
     }
+    
+    /**
+     * Inner class for a keyset page of expenses
+     */
+    public static class ExpensePage {
+        private final List<Expense> expenses;
+        private final String nextCursor;
+        
+        public ExpensePage(List<Expense> expenses, String nextCursor) {
+            this.expenses = expenses;
+            this.nextCursor = nextCursor;
+        }
+        
+        // Getters
+        public List<Expense> getExpenses() { return expenses; }
+        public String getNextCursor() { return nextCursor; }
+        public boolean isHasMore() { return nextCursor != null; }
+    }
+    
+    /**
+     * Inner class for filter facet counts
+     */
+    public static class ExpenseFacets {
+        private final Map<Expense.Category, Long> categoryCounts;
+        private final Map<String, Long> monthCounts;
+        private final long totalCount;
+        private final BigDecimal totalAmount;
+        
+        public ExpenseFacets(Map<Expense.Category, Long> categoryCounts, Map<String, Long> monthCounts,
+                            long totalCount, BigDecimal totalAmount) {
+            this.categoryCounts = categoryCounts;
+            this.monthCounts = monthCounts;
+            this.totalCount = totalCount;
+            this.totalAmount = totalAmount;
+        }
+        
+        // Getters
+        public Map<Expense.Category, Long> getCategoryCounts() { return categoryCounts; }
+        public Map<String, Long> getMonthCounts() { return monthCounts; }
+        public long getTotalCount() { return totalCount; }
+        public BigDecimal getTotalAmount() { return totalAmount; }
+    }
 }
\ No newline at end of file
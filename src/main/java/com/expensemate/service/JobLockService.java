@@ -0,0 +1,57 @@
+package com.expensemate.service;
+
+import com.expensemate.config.NodeIdentity;
+import com.expensemate.repository.JobLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Service class for running scheduled jobs on at most one node at a time.
+ *
+ * Each job has a row in job_locks. A node runs the job only if its atomic
+ * UPDATE takes an expired lease, so every replica can keep its @Scheduled
+ * triggers. The lease is held for at least lockAtLeastFor (so nodes whose
+ * clocks differ slightly do not re-run a job that just finished) and at most
+ * lockAtMostFor (so a crashed node cannot block the job forever).
+ */
+@Service
+public class JobLockService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JobLockService.class);
+    
+    @Autowired
+    private JobLockRepository jobLockRepository;
+    
+    @Autowired
+    private NodeIdentity nodeIdentity;
+    
+    /**
+     * Run task if this node can take the named lock. Returns false when another node holds it.
+     */
+    public boolean runLocked(String name, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        LocalDateTime acquiredAt = LocalDateTime.now();
+        if (!tryAcquire(name, acquiredAt, lockAtMostFor)) {
+            logger.debug("Skipping job {}: locked by another node", name);
+            return false;
+        }
+        
+        try {
+            task.run();
+            return true;
+        } finally {
+            LocalDateTime earliestRelease = acquiredAt.plus(lockAtLeastFor);
+            LocalDateTime now = LocalDateTime.now();
+            jobLockRepository.release(name, nodeIdentity.getNodeId(), now.isAfter(earliestRelease) ? now : earliestRelease);
+        }
+    }
+    
+    private boolean tryAcquire(String name, LocalDateTime now, Duration lockAtMostFor) {
+        jobLockRepository.insertIfMissing(name, now);
+        return jobLockRepository.tryAcquire(name, nodeIdentity.getNodeId(), now, now.plus(lockAtMostFor)) == 1;
+    }
+}
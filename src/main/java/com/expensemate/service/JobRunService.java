@@ -0,0 +1,315 @@
+package com.expensemate.service;
+
+import com.expensemate.config.NodeIdentity;
+import com.expensemate.entity.JobRun;
+import com.expensemate.repository.JobRunRepository;
+import com.expensemate.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Service class for recording scheduled job executions.
+ *
+ * Every run is stored in job_runs together with the number of enabled users
+ * at its start, and published as Micrometer histograms (duration, items and
+ * duration per user, tagged by job). Trends fit run time against user count
+ * on a log-log scale: a slope near 1 means the job grows linearly with the
+ * user base, a slope well above 1 means it is getting slower per user.
+ */
+@Service
+public class JobRunService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobRunService.class);
+
+    /**
+     * Scaling exponent above which a job is reported as growing super-linearly
+     */
+    private static final double SUPER_LINEAR_THRESHOLD = 1.2;
+
+    /**
+     * Fewest successful runs needed before a scaling exponent is estimated
+     */
+    private static final int MIN_RUNS_FOR_TREND = 5;
+
+    /**
+     * Smallest relative user count growth across the window for the fit to mean anything
+     */
+    private static final double MIN_USER_GROWTH = 1.1;
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Run job and record its execution. Failures are logged and recorded, not rethrown.
+     */
+    public JobRun record(String jobName, Supplier<JobOutcome> job) {
+        JobRun run = jobRunRepository.save(new JobRun(jobName, nodeIdentity.getNodeId(),
+            LocalDateTime.now(), userRepository.countByEnabledTrue()));
+        long startNanos = System.nanoTime();
+
+        try {
+            JobOutcome outcome = job.get();
+            if (outcome != null) {
+                run.setItemsProcessed(outcome.getItems());
+                run.setFailures(outcome.getFailures());
+            }
+            run.setStatus(JobRun.Status.SUCCEEDED);
+        } catch (RuntimeException e) {
+            logger.error("Job {} failed: {}", jobName, e.getMessage(), e);
+            run.setStatus(JobRun.Status.FAILED);
+            run.setFailures(run.getFailures() + 1);
+            run.setErrorMessage(truncate(e.toString()));
+        }
+
+        long durationNanos = System.nanoTime() - startNanos;
+        run.setFinishedAt(LocalDateTime.now());
+        run.setDurationMs(Duration.ofNanos(durationNanos).toMillis());
+        publishMetrics(run, durationNanos);
+
+        logger.info("Job {} {} in {} ms ({} items, {} failures, {} users)", jobName, run.getStatus(),
+            run.getDurationMs(), run.getItemsProcessed(), run.getFailures(), run.getUserCount());
+
+        return jobRunRepository.save(run);
+    }
+
+    /**
+     * Get the most recent runs of a job
+     */
+    @Transactional(readOnly = true)
+    public List<JobRun> getRecentRuns(String jobName, int limit) {
+        return jobRunRepository.findByJobNameOrderByStartedAtDesc(jobName, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Get duration and scaling trends of every job that ran in the last days
+     */
+    @Transactional(readOnly = true)
+    public List<JobTrend> getTrends(int days) {
+        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        List<JobTrend> trends = new ArrayList<>();
+
+        for (String jobName : jobRunRepository.findJobNamesSince(since)) {
+            List<JobRun> runs = jobRunRepository.findFinishedRunsSince(jobName, since);
+            if (!runs.isEmpty()) {
+                trends.add(buildTrend(jobName, runs));
+            }
+        }
+
+        return trends;
+    }
+
+    /**
+     * Remove runs older than the given number of days
+     */
+    public int purgeRuns(int retentionDays) {
+        return jobRunRepository.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    private void publishMetrics(JobRun run, long durationNanos) {
+        Timer.builder("expensemate.job.duration")
+            .description("Scheduled job run time")
+            .tag("job", run.getJobName())
+            .tag("status", run.getStatus().name())
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(Duration.ofNanos(durationNanos));
+
+        DistributionSummary.builder("expensemate.job.items")
+            .description("Items processed per scheduled job run")
+            .tag("job", run.getJobName())
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(run.getItemsProcessed());
+
+        if (run.getUserCount() > 0) {
+            DistributionSummary.builder("expensemate.job.duration.per.user")
+                .description("Scheduled job run time divided by enabled users")
+                .baseUnit("milliseconds")
+                .tag("job", run.getJobName())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record((double) durationNanos / 1_000_000 / run.getUserCount());
+        }
+    }
+
+    private JobTrend buildTrend(String jobName, List<JobRun> runs) {
+        int failedRuns = 0;
+        long totalDuration = 0;
+        long maxDuration = 0;
+        long totalItems = 0;
+        List<JobRun> succeeded = new ArrayList<>();
+
+        for (JobRun run : runs) {
+            if (run.getStatus() == JobRun.Status.FAILED) {
+                failedRuns++;
+            } else {
+                succeeded.add(run);
+            }
+            long duration = run.getDurationMs() != null ? run.getDurationMs() : 0;
+            totalDuration += duration;
+            maxDuration = Math.max(maxDuration, duration);
+            totalItems += run.getItemsProcessed();
+        }
+
+        JobRun first = runs.get(0);
+        JobRun last = runs.get(runs.size() - 1);
+        Double exponent = estimateScalingExponent(succeeded);
+
+        return new JobTrend(jobName, runs.size(), failedRuns,
+            totalDuration / runs.size(), maxDuration, (double) totalItems / runs.size(),
+            last.getStartedAt(), last.getDurationMs(),
+            first.getUserCount(), last.getUserCount(),
+            durationPerUser(first), durationPerUser(last),
+            exponent, exponent != null && exponent > SUPER_LINEAR_THRESHOLD);
+    }
+
+    /**
+     * Least-squares slope of log(duration) against log(user count); null when
+     * there are too few runs or the user base barely changed in the window
+     */
+    private Double estimateScalingExponent(List<JobRun> runs) {
+        List<double[]> points = new ArrayList<>();
+        long minUsers = Long.MAX_VALUE;
+        long maxUsers = 0;
+
+        for (JobRun run : runs) {
+            if (run.getUserCount() > 0 && run.getDurationMs() != null && run.getDurationMs() > 0) {
+                points.add(new double[] { Math.log(run.getUserCount()), Math.log(run.getDurationMs()) });
+                minUsers = Math.min(minUsers, run.getUserCount());
+                maxUsers = Math.max(maxUsers, run.getUserCount());
+            }
+        }
+
+        if (points.size() < MIN_RUNS_FOR_TREND || maxUsers < minUsers * MIN_USER_GROWTH) {
+            return null;
+        }
+
+        double meanX = points.stream().mapToDouble(p -> p[0]).average().orElse(0);
+        double meanY = points.stream().mapToDouble(p -> p[1]).average().orElse(0);
+        double covariance = 0;
+        double variance = 0;
+        for (double[] p : points) {
+            covariance += (p[0] - meanX) * (p[1] - meanY);
+            variance += (p[0] - meanX) * (p[0] - meanX);
+        }
+
+        return variance > 0 ? covariance / variance : null;
+    }
+
+    private static Double durationPerUser(JobRun run) {
+        if (run.getUserCount() == 0 || run.getDurationMs() == null) {
+            return null;
+        }
+        return (double) run.getDurationMs() / run.getUserCount();
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    /**
+     * Inner class for what a job run reports back
+     */
+    public static class JobOutcome {
+        private final long items;
+        private final long failures;
+
+        public JobOutcome(long items, long failures) {
+            this.items = items;
+            this.failures = failures;
+        }
+
+        public static JobOutcome of(long items) {
+            return new JobOutcome(items, 0);
+        }
+
+        public static JobOutcome none() {
+            return new JobOutcome(0, 0);
+        }
+
+        // Getters
+        public long getItems() { return items; }
+        public long getFailures() { return failures; }
+    }
+
+    /**
+     * Inner class for per-job run trends
+     */
+    public static class JobTrend {
+        private final String jobName;
+        private final int runs;
+        private final int failedRuns;
+        private final long averageDurationMs;
+        private final long maxDurationMs;
+        private final double averageItems;
+        private final LocalDateTime lastStartedAt;
+        private final Long lastDurationMs;
+        private final long firstUserCount;
+        private final long lastUserCount;
+        private final Double firstDurationPerUserMs;
+        private final Double lastDurationPerUserMs;
+        private final Double scalingExponent;
+        private final boolean superLinear;
+
+        public JobTrend(String jobName, int runs, int failedRuns, long averageDurationMs, long maxDurationMs,
+                        double averageItems, LocalDateTime lastStartedAt, Long lastDurationMs,
+                        long firstUserCount, long lastUserCount,
+                        Double firstDurationPerUserMs, Double lastDurationPerUserMs,
+                        Double scalingExponent, boolean superLinear) {
+            this.jobName = jobName;
+            this.runs = runs;
+            this.failedRuns = failedRuns;
+            this.averageDurationMs = averageDurationMs;
+            this.maxDurationMs = maxDurationMs;
+            this.averageItems = averageItems;
+            this.lastStartedAt = lastStartedAt;
+            this.lastDurationMs = lastDurationMs;
+            this.firstUserCount = firstUserCount;
+            this.lastUserCount = lastUserCount;
+            this.firstDurationPerUserMs = firstDurationPerUserMs;
+            this.lastDurationPerUserMs = lastDurationPerUserMs;
+            this.scalingExponent = scalingExponent;
+            this.superLinear = superLinear;
+        }
+
+        // Getters
+        public String getJobName() { return jobName; }
+        public int getRuns() { return runs; }
+        public int getFailedRuns() { return failedRuns; }
+        public long getAverageDurationMs() { return averageDurationMs; }
+        public long getMaxDurationMs() { return maxDurationMs; }
+        public double getAverageItems() { return averageItems; }
+        public LocalDateTime getLastStartedAt() { return lastStartedAt; }
+        public Long getLastDurationMs() { return lastDurationMs; }
+        public long getFirstUserCount() { return firstUserCount; }
+        public long getLastUserCount() { return lastUserCount; }
+        public Double getFirstDurationPerUserMs() { return firstDurationPerUserMs; }
+        public Double getLastDurationPerUserMs() { return lastDurationPerUserMs; }
+        public Double getScalingExponent() { return scalingExponent; }
+        public boolean isSuperLinear() { return superLinear; }
+    }
+}
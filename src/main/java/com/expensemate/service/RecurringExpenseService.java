@@ -0,0 +1,353 @@
+package com.expensemate.service;
+
+import com.expensemate.dto.RecurringExpenseRequest;
+import com.expensemate.entity.Expense;
+import com.expensemate.entity.RecurringExpense;
+import com.expensemate.entity.User;
+import com.expensemate.repository.ExpenseRepository;
+import com.expensemate.repository.RecurringExpenseRepository;
+import com.expensemate.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for recurring expense templates and their nightly materialization
+ */
+@Service
+@Transactional
+public class RecurringExpenseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringExpenseService.class);
+
+    /**
+     * Templates loaded, materialized and committed per transaction
+     */
+    private static final int TEMPLATE_BATCH_SIZE = 500;
+
+    /**
+     * Users whose budgets and badges are recomputed per transaction
+     */
+    private static final int RECOMPUTE_BATCH_SIZE = 100;
+
+    /**
+     * Upper bound on occurrences generated for one template in a single run,
+     * so a template with a start date far in the past (or a DAILY template
+     * after a long outage) cannot stall the nightly pass
+     */
+    private static final int MAX_OCCURRENCES_PER_RUN = 400;
+
+    @Autowired
+    private RecurringExpenseRepository recurringExpenseRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private SpendingStreakService spendingStreakService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Each batch writes expenses, so it runs under the sync write timeout
+     */
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void initTransactionTemplate() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setTimeout(SyncService.WRITE_TIMEOUT_SECONDS);
+    }
+
+    /**
+     * Create a recurring expense template for user from an API request
+     */
+    public RecurringExpense createTemplate(RecurringExpenseRequest request, User user) {
+        if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        RecurringExpense template = new RecurringExpense();
+        template.setDescription(request.getDescription());
+        template.setAmount(request.getAmount());
+        template.setCategory(request.getCategory());
+        template.setNotes(request.getNotes());
+        template.setFrequency(request.getFrequency());
+        template.setInterval(request.getInterval());
+        template.setStartDate(request.getStartDate());
+        template.setEndDate(request.getEndDate());
+        template.setUser(user);
+        template.setNextDueDate(request.getStartDate());
+        return recurringExpenseRepository.save(template);
+    }
+
+    /**
+     * Get templates for user
+     */
+    @Transactional(readOnly = true)
+    public List<RecurringExpense> getTemplatesByUser(User user) {
+        return recurringExpenseRepository.findByUserOrderByNextDueDate(user);
+    }
+
+    /**
+     * Stop generating expenses from a template; already generated expenses are kept.
+     * Throws EntityNotFoundException for an unknown id and AccessDeniedException
+     * if the template belongs to another user.
+     */
+    public void deactivateTemplate(Long templateId, User user) {
+        RecurringExpense template = recurringExpenseRepository.findById(templateId)
+                .orElseThrow(() -> new EntityNotFoundException("Recurring expense not found: " + templateId));
+
+        // Verify ownership
+        if (!template.getUser().getId().equals(user.getId())) {
+            throw new AccessDeniedException("Unauthorized to modify this recurring expense");
+        }
+
+        template.setActive(false);
+        template.setNextDueDate(null);
+        recurringExpenseRepository.save(template);
+    }
+
+    /**
+     * Generate an Expense for every occurrence due on or before the given date.
+     *
+     * Templates are walked in id order, one transaction per batch of
+     * TEMPLATE_BATCH_SIZE, so memory and lock time stay bounded however many
+     * templates exist. Existing occurrences are skipped (and the unique
+     * (recurring_expense_id, expense_date) constraint backs this up), so a
+     * re-run after a partial failure never duplicates expenses. A batch that
+     * fails is retried one template per transaction; templates that still
+     * fail are logged, skipped and reported, and stay due for the next run.
+     * Budgets and badges are recomputed once per affected user-month after
+     * all batches.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MaterializationResult materializeDueOccurrences(LocalDate date) {
+        Map<Long, Set<YearMonth>> affectedMonths = new HashMap<>();
+        List<Long> failedTemplateIds = new ArrayList<>();
+        long afterId = 0;
+        int templatesProcessed = 0;
+        int expensesCreated = 0;
+
+        while (true) {
+            final long cursor = afterId;
+            List<Long> templateIds = new ArrayList<>();
+
+            BatchOutcome batch;
+            try {
+                batch = transactionTemplate.execute(status -> {
+                    List<RecurringExpense> templates = recurringExpenseRepository.findDueAfterId(
+                        date, cursor, PageRequest.of(0, TEMPLATE_BATCH_SIZE));
+                    templates.forEach(template -> templateIds.add(template.getId()));
+                    return materializeTemplates(templates, date);
+                });
+            } catch (RuntimeException e) {
+                if (templateIds.isEmpty()) {
+                    // The batch could not even be loaded (e.g. database unavailable)
+                    throw e;
+                }
+                logger.warn("Recurring expense batch after template {} failed, retrying templates one by one: {}",
+                    cursor, e.getMessage());
+                batch = materializeIndividually(templateIds, date, failedTemplateIds);
+            }
+
+            if (templateIds.isEmpty()) {
+                break;
+            }
+
+            templatesProcessed += batch.templates;
+            expensesCreated += batch.expenses;
+            batch.affectedMonths.forEach((userId, months) ->
+                affectedMonths.computeIfAbsent(userId, id -> new TreeSet<>()).addAll(months));
+            // Past failed templates too, so one bad template cannot stop the pass
+            afterId = templateIds.get(templateIds.size() - 1);
+
+            if (templateIds.size() < TEMPLATE_BATCH_SIZE) {
+                break;
+            }
+        }
+
+        int userMonths = recomputeAffectedMonths(affectedMonths);
+        logger.info("Materialized {} recurring expenses from {} templates ({} user-months recomputed, {} templates failed)",
+            expensesCreated, templatesProcessed, userMonths, failedTemplateIds.size());
+
+        return new MaterializationResult(templatesProcessed, expensesCreated, userMonths, failedTemplateIds);
+    }
+
+    /**
+     * Materialize each template in its own transaction, recording the ones that fail
+     */
+    private BatchOutcome materializeIndividually(List<Long> templateIds, LocalDate date, List<Long> failedTemplateIds) {
+        BatchOutcome total = new BatchOutcome(0, 0, new HashMap<>());
+
+        for (Long templateId : templateIds) {
+            try {
+                BatchOutcome single = transactionTemplate.execute(status -> materializeTemplates(
+                    recurringExpenseRepository.findById(templateId).map(List::of).orElse(List.of()), date));
+                if (single != null) {
+                    total = total.plus(single);
+                }
+            } catch (RuntimeException e) {
+                failedTemplateIds.add(templateId);
+                logger.error("Skipping recurring expense template {}: {}", templateId, e.getMessage(), e);
+            }
+        }
+
+        return total;
+    }
+
+    private BatchOutcome materializeTemplates(List<RecurringExpense> templates, LocalDate date) {
+        Map<Long, Set<YearMonth>> affectedMonths = new HashMap<>();
+        if (templates.isEmpty()) {
+            return new BatchOutcome(0, 0, affectedMonths);
+        }
+
+        Set<String> existing = loadExistingOccurrences(templates, date);
+        List<Expense> expenses = new ArrayList<>();
+        Map<User, Set<LocalDate>> loggedDates = new LinkedHashMap<>();
+
+        for (RecurringExpense template : templates) {
+            int generated = 0;
+            while (template.isActive() && template.getNextDueDate() != null
+                    && !template.getNextDueDate().isAfter(date) && generated < MAX_OCCURRENCES_PER_RUN) {
+
+                LocalDate dueDate = template.getNextDueDate();
+                if (!existing.contains(occurrenceKey(template.getId(), dueDate))) {
+                    expenses.add(toExpense(template, dueDate));
+                    affectedMonths.computeIfAbsent(template.getUser().getId(), id -> new TreeSet<>())
+                        .add(YearMonth.from(dueDate));
+                    loggedDates.computeIfAbsent(template.getUser(), user -> new TreeSet<>()).add(dueDate);
+                }
+
+                template.advance();
+                generated++;
+            }
+        }
+
+        // Inserts go out as JDBC batches; template updates flush on commit
+        expenseRepository.saveAll(expenses);
+
+        // Generated expenses count towards spending streaks like any other
+        loggedDates.forEach(spendingStreakService::recordExpenseDates);
+
+        return new BatchOutcome(templates.size(), expenses.size(), affectedMonths);
+    }
+
+    private Set<String> loadExistingOccurrences(List<RecurringExpense> templates, LocalDate date) {
+        List<Long> templateIds = templates.stream().map(RecurringExpense::getId).collect(Collectors.toList());
+        LocalDate earliest = templates.stream()
+                .map(RecurringExpense::getNextDueDate)
+                .min(Comparator.naturalOrder())
+                .orElse(date);
+
+        Set<String> existing = new HashSet<>();
+        for (Object[] row : expenseRepository.findRecurringOccurrences(templateIds, earliest, date)) {
+            existing.add(occurrenceKey((Long) row[0], (LocalDate) row[1]));
+        }
+        return existing;
+    }
+
+    private Expense toExpense(RecurringExpense template, LocalDate dueDate) {
+        Expense expense = new Expense(template.getDescription(), template.getAmount(),
+            template.getCategory(), dueDate, template.getUser());
+        expense.setNotes(template.getNotes());
+        expense.setRecurringExpense(template);
+        return expense;
+    }
+
+    private int recomputeAffectedMonths(Map<Long, Set<YearMonth>> affectedMonths) {
+        List<Long> userIds = new ArrayList<>(affectedMonths.keySet());
+        int userMonths = 0;
+
+        for (int i = 0; i < userIds.size(); i += RECOMPUTE_BATCH_SIZE) {
+            List<Long> chunk = userIds.subList(i, Math.min(i + RECOMPUTE_BATCH_SIZE, userIds.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (User user : userRepository.findAllById(chunk)) {
+                        expenseService.refreshBudgetsAndBadges(user, affectedMonths.get(user.getId()));
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Expenses are already committed; the next expense change recomputes these budgets
+                logger.error("Failed to recompute budgets for users {}: {}", chunk, e.getMessage(), e);
+            }
+
+            for (Long userId : chunk) {
+                userMonths += affectedMonths.get(userId).size();
+            }
+        }
+
+        return userMonths;
+    }
+
+    private static String occurrenceKey(Long templateId, LocalDate date) {
+        return templateId + ":" + date;
+    }
+
+    /**
+     * What one transaction materialized; affected months are merged only once it has committed
+     */
+    private static class BatchOutcome {
+        private final int templates;
+        private final int expenses;
+        private final Map<Long, Set<YearMonth>> affectedMonths;
+
+        BatchOutcome(int templates, int expenses, Map<Long, Set<YearMonth>> affectedMonths) {
+            this.templates = templates;
+            this.expenses = expenses;
+            this.affectedMonths = affectedMonths;
+        }
+
+        BatchOutcome plus(BatchOutcome other) {
+            Map<Long, Set<YearMonth>> merged = new HashMap<>(affectedMonths);
+            other.affectedMonths.forEach((userId, months) ->
+                merged.computeIfAbsent(userId, id -> new TreeSet<>()).addAll(months));
+            return new BatchOutcome(templates + other.templates, expenses + other.expenses, merged);
+        }
+    }
+
+    /**
+     * Inner class for materialization run results
+     */
+    public static class MaterializationResult {
+        private final int templatesProcessed;
+        private final int expensesCreated;
+        private final int userMonthsRecomputed;
+        private final List<Long> failedTemplateIds;
+
+        public MaterializationResult(int templatesProcessed, int expensesCreated, int userMonthsRecomputed,
+                                     List<Long> failedTemplateIds) {
+            this.templatesProcessed = templatesProcessed;
+            this.expensesCreated = expensesCreated;
+            this.userMonthsRecomputed = userMonthsRecomputed;
+            this.failedTemplateIds = failedTemplateIds;
+        }
+
+        // Getters
+        public int getTemplatesProcessed() { return templatesProcessed; }
+        public int getExpensesCreated() { return expensesCreated; }
+        public int getUserMonthsRecomputed() { return userMonthsRecomputed; }
+        public List<Long> getFailedTemplateIds() { return failedTemplateIds; }
+    }
+}
@@ -0,0 +1,54 @@
+package com.expensemate.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service class for removing expired HTTP sessions from the JDBC session store.
+ *
+ * Spring Session's own cleanup deletes every expired session in a single
+ * statement, which after a quiet night can lock many thousands of rows (and
+ * their cascaded attributes) while logins are trying to write the same
+ * table. Here expired sessions are deleted in small batches, each committed
+ * on its own, so a batch only ever holds a few row locks briefly.
+ */
+@Service
+public class SessionCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionCleanupService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.session.jdbc.table-name:SPRING_SESSION}")
+    private String tableName;
+
+    @Value("${expensemate.session.cleanup-batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Delete sessions that expired before now; returns the number deleted.
+     * Attributes go with them through the ON DELETE CASCADE foreign key.
+     */
+    public int purgeExpiredSessions() {
+        long now = System.currentTimeMillis();
+        String sql = "DELETE FROM " + tableName + " WHERE EXPIRY_TIME < ? ORDER BY EXPIRY_TIME LIMIT ?";
+
+        int total = 0;
+        int deleted;
+        do {
+            // No surrounding transaction: every batch commits before the next one starts
+            deleted = jdbcTemplate.update(sql, now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            logger.debug("Deleted {} expired sessions", total);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,131 @@
+package com.expensemate.service;
+
+import com.expensemate.entity.SpendingStreak;
+import com.expensemate.entity.User;
+import com.expensemate.repository.ExpenseRepository;
+import com.expensemate.repository.SpendingStreakRepository;
+import com.expensemate.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for per-user spending streaks (consecutive days with a logged expense)
+ */
+@Service
+@Transactional
+public class SpendingStreakService {
+    
+    @Autowired
+    private SpendingStreakRepository spendingStreakRepository;
+    
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    /**
+     * Update the user's streak for a newly logged expense
+     */
+    public void recordExpense(User user, LocalDate expenseDate) {
+        recordExpenseDates(user, Collections.singletonList(expenseDate));
+    }
+    
+    /**
+     * Update the user's streak for a set of newly logged expense dates
+     * (bulk import, batch API, recurring expenses). Future dates are ignored.
+     * New days after the current run extend it incrementally; a backfilled
+     * earlier day rebuilds the streak from the user's expense dates.
+     */
+    public void recordExpenseDates(User user, Collection<LocalDate> expenseDates) {
+        LocalDate today = LocalDate.now();
+        List<LocalDate> dates = expenseDates.stream()
+                .filter(date -> !date.isAfter(today))
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        
+        if (dates.isEmpty()) {
+            return;
+        }
+        
+        SpendingStreak streak = lockStreak(user);
+        if (streak.needsRecompute(dates.get(0))) {
+            recompute(streak, user, today);
+            return;
+        }
+        
+        for (LocalDate date : dates) {
+            streak.recordLoggedDate(date);
+        }
+    }
+    
+    /**
+     * Rebuild the user's streak from their expense dates, after expenses were
+     * deleted or moved to another date
+     */
+    public void recomputeStreak(User user) {
+        recompute(lockStreak(user), user, LocalDate.now());
+    }
+    
+    /**
+     * Rebuild the streaks of the given users (one-off backfill of existing users)
+     */
+    public void recomputeStreaks(Collection<Long> userIds) {
+        for (User user : userRepository.findAllById(userIds)) {
+            recomputeStreak(user);
+        }
+    }
+    
+    private SpendingStreak lockStreak(User user) {
+        // Row lock serialises concurrent expense changes for the same user
+        spendingStreakRepository.insertIfMissing(user.getId());
+        return spendingStreakRepository.findByUserForUpdate(user)
+                .orElseThrow(() -> new RuntimeException("Spending streak not found for user: " + user.getId()));
+    }
+    
+    private void recompute(SpendingStreak streak, User user, LocalDate today) {
+        // The query flushes pending expense inserts, updates and deletes first
+        streak.recomputeFrom(expenseRepository.findDistinctExpenseDates(user, today));
+    }
+    
+    /**
+     * Get streak for user (an empty streak if none has been recorded)
+     */
+    @Transactional(readOnly = true)
+    public SpendingStreak getStreak(User user) {
+        return spendingStreakRepository.findByUser(user).orElseGet(() -> new SpendingStreak(user));
+    }
+    
+    /**
+     * Get the user's live streak length as of today
+     */
+    @Transactional(readOnly = true)
+    public int getCurrentStreak(User user) {
+        return getStreak(user).getCurrentStreakAsOf(LocalDate.now());
+    }
+    
+    /**
+     * Check whether the user logged expenses on each of the last N days, including today
+     */
+    @Transactional(readOnly = true)
+    public boolean hasStreakOf(User user, int days) {
+        SpendingStreak streak = getStreak(user);
+        return LocalDate.now().equals(streak.getLastLoggedDate()) && streak.getCurrentStreak() >= days;
+    }
+    
+    /**
+     * Reset streaks with no expense yesterday or today (nightly job)
+     */
+    public int resetBrokenStreaks(LocalDate today) {
+        return spendingStreakRepository.resetStreaksLoggedBefore(today.minusDays(1), LocalDateTime.now());
+    }
+}
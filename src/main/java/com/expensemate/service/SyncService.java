@@ -0,0 +1,198 @@
+package com.expensemate.service;
+
+import com.expensemate.dto.BadgeDto;
+import com.expensemate.dto.BudgetDto;
+import com.expensemate.dto.ExpenseDto;
+import com.expensemate.entity.DeletedRecord;
+import com.expensemate.entity.User;
+import com.expensemate.repository.BadgeRepository;
+import com.expensemate.repository.BudgetRepository;
+import com.expensemate.repository.DeletedRecordRepository;
+import com.expensemate.repository.ExpenseRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for delta synchronisation of expenses, budgets and badges.
+ *
+ * A sync token is the server time (epoch millis) at which the previous sync
+ * started. Changes are detected through the updated_at columns and deletions
+ * through tombstones in deleted_records.
+ *
+ * updated_at is stamped when a row is written, not when its transaction
+ * commits, so a sync must re-read far enough back to cover the longest write
+ * transaction. Transactions that write expenses, budgets, badges or
+ * tombstones are bounded by WRITE_TIMEOUT_SECONDS; the overlap adds the
+ * replica lag the read may see and an allowance for clock skew between
+ * nodes. Writes are only guaranteed to reach clients if they run under that
+ * timeout and node clocks stay within expensemate.sync.clock-skew-seconds
+ * of each other.
+ */
+@Service
+@Transactional(timeout = SyncService.WRITE_TIMEOUT_SECONDS)
+public class SyncService {
+
+    /**
+     * Upper bound on every transaction that writes synced entities. Long
+     * jobs split their work into transactions shorter than this.
+     */
+    public static final int WRITE_TIMEOUT_SECONDS = 60;
+
+    /**
+     * Tombstones are kept this long; older tokens require a full resync
+     */
+    public static final Duration TOMBSTONE_RETENTION = Duration.ofDays(30);
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BadgeRepository badgeRepository;
+
+    @Autowired
+    private DeletedRecordRepository deletedRecordRepository;
+
+    @Value("${expensemate.datasource.replica-max-lag-seconds:5}")
+    private long replicaMaxLagSeconds;
+
+    @Value("${expensemate.datasource.replica-lag-check-interval-ms:5000}")
+    private long replicaLagCheckIntervalMs;
+
+    @Value("${expensemate.sync.clock-skew-seconds:30}")
+    private long clockSkewSeconds;
+
+    /**
+     * Re-read this much history before the client's token so that writes
+     * committed after a previous sync started are never missed. Clients
+     * apply changes idempotently, so the overlap only costs repeated rows.
+     */
+    private Duration tokenOverlap;
+
+    @PostConstruct
+    void initTokenOverlap() {
+        tokenOverlap = Duration.ofSeconds(WRITE_TIMEOUT_SECONDS)
+                .plusSeconds(replicaMaxLagSeconds + clockSkewSeconds)
+                .plusMillis(replicaLagCheckIntervalMs);
+    }
+
+    /**
+     * Get all changes for user since the given token (null for a full sync)
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse getChangesSince(User user, Long sinceToken) {
+        LocalDateTime now = LocalDateTime.now();
+        long nextToken = toToken(now);
+
+        boolean fullResync = sinceToken == null
+                || toDateTime(sinceToken).isBefore(now.minus(TOMBSTONE_RETENTION));
+
+        if (fullResync) {
+            // A full resync replaces the client's state, so tombstones are not needed.
+            // Rows written before updated_at existed may have it unset, so load by user.
+            return new SyncResponse(nextToken, true,
+                    toDtos(expenseRepository.findByUserOrderByExpenseDateDesc(user), ExpenseDto::from),
+                    toDtos(budgetRepository.findByUserOrderByBudgetYearDescBudgetMonthDesc(user), BudgetDto::from),
+                    toDtos(badgeRepository.findByUserOrderByEarnedAtDesc(user), BadgeDto::from),
+                    Collections.emptyList());
+        }
+
+        LocalDateTime since = toDateTime(sinceToken).minus(tokenOverlap);
+        return new SyncResponse(nextToken, false,
+                toDtos(expenseRepository.findByUserAndUpdatedAtAfterOrderByUpdatedAt(user, since), ExpenseDto::from),
+                toDtos(budgetRepository.findByUserAndUpdatedAtAfterOrderByUpdatedAt(user, since), BudgetDto::from),
+                toDtos(badgeRepository.findByUserAndUpdatedAtAfterOrderByUpdatedAt(user, since), BadgeDto::from),
+                toDtos(deletedRecordRepository.findByUserAndDeletedAtAfterOrderByDeletedAt(user, since), Tombstone::from));
+    }
+
+    /**
+     * Record a tombstone for a deleted entity
+     */
+    public void recordDeletion(DeletedRecord.EntityType entityType, Long entityId, User user) {
+        deletedRecordRepository.save(new DeletedRecord(entityType, entityId, user));
+    }
+
+    /**
+     * Remove tombstones older than the retention window (maintenance task)
+     */
+    public int purgeExpiredTombstones() {
+        return deletedRecordRepository.deleteOlderThan(LocalDateTime.now().minus(TOMBSTONE_RETENTION));
+    }
+
+    private static <T, R> List<R> toDtos(List<T> entities, Function<T, R> mapper) {
+        return entities.stream().map(mapper).collect(Collectors.toList());
+    }
+
+    private static long toToken(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long token) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(token), ZoneId.systemDefault());
+    }
+
+    /**
+     * Inner class for a deleted entity reference
+     */
+    public static class Tombstone {
+        private final DeletedRecord.EntityType type;
+        private final Long id;
+
+        public Tombstone(DeletedRecord.EntityType type, Long id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        static Tombstone from(DeletedRecord record) {
+            return new Tombstone(record.getEntityType(), record.getEntityId());
+        }
+
+        // Getters
+        public DeletedRecord.EntityType getType() { return type; }
+        public Long getId() { return id; }
+    }
+
+    /**
+     * Inner class for sync responses
+     */
+    public static class SyncResponse {
+        private final long token;
+        private final boolean fullResync;
+        private final List<ExpenseDto> expenses;
+        private final List<BudgetDto> budgets;
+        private final List<BadgeDto> badges;
+        private final List<Tombstone> deleted;
+
+        public SyncResponse(long token, boolean fullResync, List<ExpenseDto> expenses,
+                            List<BudgetDto> budgets, List<BadgeDto> badges, List<Tombstone> deleted) {
+            this.token = token;
+            this.fullResync = fullResync;
+            this.expenses = expenses;
+            this.budgets = budgets;
+            this.badges = badges;
+            this.deleted = deleted;
+        }
+
+        // Getters
+        public long getToken() { return token; }
+        public boolean isFullResync() { return fullResync; }
+        public List<ExpenseDto> getExpenses() { return expenses; }
+        public List<BudgetDto> getBudgets() { return budgets; }
+        public List<BadgeDto> getBadges() { return badges; }
+        public List<Tombstone> getDeleted() { return deleted; }
+    }
+}
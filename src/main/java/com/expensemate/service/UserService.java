@@ -1,15 +1,23 @@
 package com.expensemate.service;
 
+import com.expensemate.dto.AuthenticatedUser;
 import com.expensemate.entity.User;
 import com.expensemate.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -27,16 +35,80 @@ public class UserService implements UserDetailsService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Value("${expensemate.security.user-cache.max-size:10000}")
+    private long userCacheMaxSize;
+    
+    @Value("${expensemate.security.user-cache.ttl-seconds:300}")
+    private long userCacheTtlSeconds;
+    
+    /**
+     * Principals by login identifier (username or email)
+     */
+    private Cache<String, AuthenticatedUser> userDetailsCache;
+    
+    @PostConstruct
+    void initUserDetailsCache() {
+        userDetailsCache = Caffeine.newBuilder()
+                .maximumSize(userCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(userCacheTtlSeconds))
+                .build();
+    }
+    
     /**
-     * Load user by username for Spring Security authentication
+     * Load user by username or email for Spring Security authentication.
+     * Deliberately read-write so it reads the primary: a password change or
+     * disabled account must apply at once, not after replication lag. Results
+     * are cached until the account changes on this node or the TTL expires.
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Optional<User> user = userRepository.findByUsernameOrEmail(username);
+        AuthenticatedUser cached = userDetailsCache.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Optional<User> user = findByLoginIdentifier(username);
         if (user.isEmpty()) {
             throw new UsernameNotFoundException("User not found with username or email: " + username);
         }
-        return user.get();
+        
+        AuthenticatedUser principal = AuthenticatedUser.from(user.get());
+        userDetailsCache.put(username, principal);
+        return principal;
+    }
+    
+    /**
+     * Look up by email when the identifier contains @ (every valid email does),
+     * otherwise by username, so each lookup uses a single unique index
+     */
+    private Optional<User> findByLoginIdentifier(String identifier) {
+        if (identifier.indexOf('@') < 0) {
+            return userRepository.findByUsername(identifier);
+        }
+        Optional<User> byEmail = userRepository.findByEmail(identifier);
+        // Usernames are not forbidden from containing @
+        return byEmail.isPresent() ? byEmail : userRepository.findByUsername(identifier);
+    }
+    
+    /**
+     * Drop a user's cached principal once the current transaction commits, so
+     * a concurrent login cannot re-cache the old state in between
+     */
+    private void evictCachedUser(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictCachedUserNow(userId);
+                }
+            });
+        } else {
+            evictCachedUserNow(userId);
+        }
+    }
+    
+    private void evictCachedUserNow(Long userId) {
+        userDetailsCache.asMap().values().removeIf(principal -> principal.getId().equals(userId));
     }
     
     /**
@@ -71,6 +143,7 @@ public class UserService implements UserDetailsService {
     /**
      * Find user by ID
      */
+    @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
@@ -78,6 +151,7 @@ public class UserService implements UserDetailsService {
     /**
      * Find user by username
      */
+    @Transactional(readOnly = true)
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
@@ -85,6 +159,7 @@ public class UserService implements UserDetailsService {
     /**
      * Find user by email
      */
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -92,8 +167,9 @@ public class UserService implements UserDetailsService {
     /**
      * Find user by username or email
      */
+    @Transactional(readOnly = true)
     public Optional<User> findByUsernameOrEmail(String identifier) {
-        return userRepository.findByUsernameOrEmail(identifier);
+        return findByLoginIdentifier(identifier);
     }
     
     /**
@@ -101,7 +177,9 @@ public class UserService implements UserDetailsService {
      */
     public User updateUser(User user) {
         user.setUpdatedAt(LocalDateTime.now());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        evictCachedUser(saved.getId());
+        return saved;
     }
     
     /**
@@ -111,6 +189,24 @@ public class UserService implements UserDetailsService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        evictCachedUser(user.getId());
+    }
+    
+    /**
+     * Store a rehashed password after login found the old hash outdated
+     * (used as the UserDetailsPasswordService); newEncodedPassword is already encoded
+     */
+    public UserDetails upgradePasswordHash(UserDetails userDetails, String newEncodedPassword) {
+        Optional<User> userOpt = userRepository.findByUsername(userDetails.getUsername());
+        if (userOpt.isEmpty()) {
+            return userDetails;
+        }
+        
+        User user = userOpt.get();
+        user.setPassword(newEncodedPassword);
+        userRepository.save(user);
+        evictCachedUser(user.getId());
+        return AuthenticatedUser.from(user);
     }
     
     /**
@@ -123,6 +219,7 @@ public class UserService implements UserDetailsService {
             user.setEnabled(enabled);
             user.setUpdatedAt(LocalDateTime.now());
             userRepository.save(user);
+            evictCachedUser(userId);
         }
     }
     
@@ -136,12 +233,14 @@ public class UserService implements UserDetailsService {
             user.setRole(newRole);
             user.setUpdatedAt(LocalDateTime.now());
             userRepository.save(user);
+            evictCachedUser(userId);
         }
     }
     
     /**
      * Get all users
      */
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -149,6 +248,7 @@ public class UserService implements UserDetailsService {
     /**
      * Get users by role
      */
+    @Transactional(readOnly = true)
     public List<User> getUsersByRole(User.Role role) {
         return userRepository.findByRole(role);
     }
@@ -156,6 +256,7 @@ public class UserService implements UserDetailsService {
     /**
      * Get enabled users only
      */
+    @Transactional(readOnly = true)
     public List<User> getEnabledUsers() {
         return userRepository.findByEnabledTrue();
     }
@@ -163,6 +264,7 @@ public class UserService implements UserDetailsService {
     /**
      * Get users created after specific date
      */
+    @Transactional(readOnly = true)
     public List<User> getUsersCreatedAfter(LocalDateTime date) {
         return userRepository.findByCreatedAtAfter(date);
     }
@@ -170,6 +272,7 @@ public class UserService implements UserDetailsService {
     /**
      * Get recent users (last 30 days)
      */
+    @Transactional(readOnly = true)
     public List<User> getRecentUsers() {
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
         return userRepository.findRecentUsers(thirtyDaysAgo);
@@ -178,6 +281,7 @@ public class UserService implements UserDetailsService {
     /**
      * Get users with current month expenses
      */
+    @Transactional(readOnly = true)
     public List<User> getUsersWithCurrentMonthExpenses() {
         return userRepository.findUsersWithCurrentMonthExpenses();
     }
@@ -185,6 +289,7 @@ public class UserService implements UserDetailsService {
     /**
      * Get users with budgets
      */
+    @Transactional(readOnly = true)
     public List<User> getUsersWithBudgets() {
         return userRepository.findUsersWithBudgets();
     }
@@ -192,6 +297,7 @@ public class UserService implements UserDetailsService {
     /**
      * Get users with badges
      */
+    @Transactional(readOnly = true)
     public List<User> getUsersWithBadges() {
         return userRepository.findUsersWithBadges();
     }
@@ -201,6 +307,7 @@ public class UserService implements UserDetailsService {
      */
     public void deleteUser(Long userId) {
         userRepository.deleteById(userId);
+        evictCachedUser(userId);
     }
     
     /**
@@ -227,6 +334,7 @@ public class UserService implements UserDetailsService {
     /**
      * Get user statistics for admin dashboard
      */
+    @Transactional(readOnly = true)
     public UserStats getUserStats() {
         long totalUsers = userRepository.countTotalUsers();
         long adminUsers = userRepository.countByRole(User.Role.ADMIN);
@@ -239,6 +347,7 @@ public class UserService implements UserDetailsService {
     /**
      * Get top users by expense count
      */
+    @Transactional(readOnly = true)
     public List<User> getTopUsersByExpenseCount() {
         return userRepository.findTopUsersByExpenseCount();
     }
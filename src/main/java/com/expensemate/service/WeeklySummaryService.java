@@ -0,0 +1,263 @@
+package com.expensemate.service;
+
+import com.expensemate.config.NodeIdentity;
+import com.expensemate.dto.WeeklySummary;
+import com.expensemate.entity.Expense;
+import com.expensemate.entity.JobCheckpoint;
+import com.expensemate.entity.User;
+import com.expensemate.repository.ExpenseRepository;
+import com.expensemate.repository.JobCheckpointRepository;
+import com.expensemate.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for the weekly summary email job.
+ *
+ * Users are split into contiguous ID ranges, one partition each, processed in
+ * parallel on the bounded batchJobExecutor. Each partition walks its range in
+ * chunks, loads the week's aggregates for the whole chunk with one grouped
+ * query, and records its progress in job_checkpoints after every delivered
+ * email, so a crashed or restarted run resumes where it stopped instead of
+ * resending. A failed delivery stops the partition before that user, and the
+ * next attempt resumes there.
+ *
+ * Every node runs the job: partitions are claimed with a renewable lease, so
+ * replicas share the work and a partition whose node died is taken over once
+ * its lease expires.
+ */
+@Service
+public class WeeklySummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeeklySummaryService.class);
+
+    public static final String JOB_NAME = "weekly-summary";
+
+    private static final int CHUNK_SIZE = 200;
+
+    private static final Duration PARTITION_LEASE = Duration.ofMinutes(10);
+
+    @Value("${expensemate.jobs.weekly-summary.partitions:4}")
+    private int partitionCount;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
+    @Autowired
+    @Qualifier("batchJobExecutor")
+    private TaskExecutor batchJobExecutor;
+
+    /**
+     * Send summaries for the 7 days ending on weekEnd. Calling this again for
+     * the same week only processes what the previous attempt did not finish.
+     */
+    public SummaryRunResult sendWeeklySummaries(LocalDate weekEnd) {
+        LocalDate weekStart = weekEnd.minusDays(6);
+        List<JobCheckpoint> partitions = loadOrCreatePartitions(weekStart.toString());
+
+        List<JobCheckpoint> pending = partitions.stream()
+                .filter(partition -> !partition.isCompleted())
+                .collect(Collectors.toList());
+
+        List<CompletableFuture<Integer>> futures = pending.stream()
+                .map(partition -> CompletableFuture.supplyAsync(
+                    () -> claimAndProcessPartition(partition.getId(), weekStart, weekEnd), batchJobExecutor))
+                .collect(Collectors.toList());
+
+        int emailsSent = 0;
+        int failedPartitions = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                emailsSent += futures.get(i).join();
+            } catch (CompletionException e) {
+                failedPartitions++;
+                logger.error("Weekly summary partition {} failed: {}",
+                    pending.get(i).getPartitionIndex(), e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        logger.info("Weekly summaries for {} sent {} emails on {} ({} of {} partitions pending, {} failed)",
+            weekStart, emailsSent, nodeIdentity.getNodeId(), pending.size(), partitions.size(), failedPartitions);
+
+        return new SummaryRunResult(partitions.size(), pending.size(), failedPartitions, emailsSent);
+    }
+
+    /**
+     * Remove checkpoints of runs older than the given number of days
+     */
+    public int purgeCheckpoints(int retentionDays) {
+        return jobCheckpointRepository.deleteOlderThan(JOB_NAME, LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    private List<JobCheckpoint> loadOrCreatePartitions(String runKey) {
+        List<JobCheckpoint> existing = jobCheckpointRepository.findByJobNameAndRunKeyOrderByPartitionIndex(JOB_NAME, runKey);
+        if (!existing.isEmpty()) {
+            return existing;
+        }
+
+        // Ranges are fixed at first start and persisted, so a resumed run sees the same partitions
+        Long maxUserId = userRepository.findMaxId();
+        if (maxUserId == null) {
+            return Collections.emptyList();
+        }
+
+        int partitions = Math.max(1, partitionCount);
+        long width = Math.max(1, (maxUserId + partitions - 1) / partitions);
+        List<JobCheckpoint> checkpoints = new ArrayList<>();
+
+        for (int i = 0; i < partitions && (long) i * width < maxUserId; i++) {
+            long rangeStart = (long) i * width;
+            long rangeEnd = Math.min(rangeStart + width, maxUserId);
+            checkpoints.add(new JobCheckpoint(JOB_NAME, runKey, i, rangeStart, rangeEnd));
+        }
+
+        try {
+            return jobCheckpointRepository.saveAll(checkpoints);
+        } catch (DataIntegrityViolationException e) {
+            // Another node planned the same run first; use its partitions
+            return jobCheckpointRepository.findByJobNameAndRunKeyOrderByPartitionIndex(JOB_NAME, runKey);
+        }
+    }
+
+    private int claimAndProcessPartition(Long partitionId, LocalDate weekStart, LocalDate weekEnd) {
+        String node = nodeIdentity.getNodeId();
+        LocalDateTime now = LocalDateTime.now();
+        if (jobCheckpointRepository.claim(partitionId, node, now, now.plus(PARTITION_LEASE)) == 0) {
+            // Finished or being processed by another node
+            return 0;
+        }
+
+        // Re-read after claiming: a previous owner may have progressed since the run was planned
+        JobCheckpoint partition = jobCheckpointRepository.findById(partitionId)
+                .orElseThrow(() -> new RuntimeException("Job checkpoint not found: " + partitionId));
+
+        long afterId = partition.getLastUserId();
+        int sent = 0;
+
+        while (true) {
+            List<User> users = userRepository.findByEnabledTrueAndIdGreaterThanAndIdLessThanEqualOrderById(
+                afterId, partition.getRangeEnd(), PageRequest.of(0, CHUNK_SIZE));
+
+            if (users.isEmpty()) {
+                break;
+            }
+
+            long chunkEnd = users.get(users.size() - 1).getId();
+            Map<Long, WeeklySummary> summaries = loadSummaries(afterId, chunkEnd, weekStart, weekEnd);
+
+            for (User user : users) {
+                WeeklySummary summary = summaries.get(user.getId());
+                if (summary == null) {
+                    // No expenses logged this week, nothing to summarise
+                    continue;
+                }
+
+                try {
+                    // Wait for delivery: the checkpoint must not pass a user whose summary was not sent
+                    emailService.sendWeeklySummary(user, summary).join();
+                } catch (CompletionException e) {
+                    throw summaryFailed(user, e.getCause());
+                } catch (MailException e) {
+                    throw summaryFailed(user, e);
+                }
+                sent++;
+
+                recordProgress(partition, node, user.getId());
+            }
+
+            recordProgress(partition, node, chunkEnd);
+            afterId = chunkEnd;
+
+            if (users.size() < CHUNK_SIZE) {
+                break;
+            }
+        }
+
+        jobCheckpointRepository.markCompleted(partition.getId(), node, LocalDateTime.now());
+        return sent;
+    }
+
+    /**
+     * Ends the partition before user: it stays incomplete and the next
+     * attempt (hourly until 12:00) resumes at this user
+     */
+    private static IllegalStateException summaryFailed(User user, Throwable cause) {
+        return new IllegalStateException("Weekly summary to user " + user.getId() + " failed: " + cause.getMessage(), cause);
+    }
+
+    private void recordProgress(JobCheckpoint partition, String node, Long lastUserId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jobCheckpointRepository.updateProgress(partition.getId(), node, lastUserId, now, now.plus(PARTITION_LEASE)) == 0) {
+            throw new IllegalStateException("Lost lease on weekly summary partition " + partition.getPartitionIndex());
+        }
+    }
+
+    private Map<Long, WeeklySummary> loadSummaries(long afterUserId, long maxUserId,
+                                                   LocalDate weekStart, LocalDate weekEnd) {
+        Map<Long, WeeklySummary> summaries = new HashMap<>();
+
+        for (Object[] result : expenseRepository.getCategoryTotalsByUserRange(afterUserId, maxUserId, weekStart, weekEnd)) {
+            Long userId = (Long) result[0];
+            Expense.Category category = (Expense.Category) result[1];
+            Long count = (Long) result[2];
+            BigDecimal amount = (BigDecimal) result[3];
+
+            summaries.computeIfAbsent(userId, id -> new WeeklySummary(weekStart, weekEnd))
+                .add(category, count, amount);
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Inner class for weekly summary run results
+     */
+    public static class SummaryRunResult {
+        private final int partitions;
+        private final int partitionsRun;
+        private final int partitionsFailed;
+        private final int emailsSent;
+
+        public SummaryRunResult(int partitions, int partitionsRun, int partitionsFailed, int emailsSent) {
+            this.partitions = partitions;
+            this.partitionsRun = partitionsRun;
+            this.partitionsFailed = partitionsFailed;
+            this.emailsSent = emailsSent;
+        }
+
+        // Getters
+        public int getPartitions() { return partitions; }
+        public int getPartitionsRun() { return partitionsRun; }
+        public int getPartitionsFailed() { return partitionsFailed; }
+        public int getEmailsSent() { return emailsSent; }
+    }
+}
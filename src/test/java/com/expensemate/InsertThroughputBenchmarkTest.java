@@ -0,0 +1,187 @@
+package com.expensemate;
+
+import com.expensemate.entity.Expense;
+import com.expensemate.entity.User;
+import com.expensemate.repository.ExpenseRepository;
+import com.expensemate.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput of bulk expense loads: the batched path used by the
+ * importer (pooled sequence ids, JDBC batching, rewriteBatchedStatements)
+ * against what GenerationType.IDENTITY does, one INSERT and one generated
+ * key read per row, into a copy of the expenses table with AUTO_INCREMENT ids.
+ *
+ * Both sides write CHUNK_SIZE rows per transaction. Only the batched side
+ * also runs the entity listeners, so the comparison does not favour it.
+ * Results are logged; the test only fails if rows go missing.
+ *
+ * Not part of the normal build. Needs Docker and is run with:
+ * mvn test -Dtest=InsertThroughputBenchmarkTest -Dexpensemate.benchmark=true [-Dexpensemate.benchmark.rows=100000]
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "expensemate.benchmark", matches = "true")
+class InsertThroughputBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(InsertThroughputBenchmarkTest.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String IDENTITY_TABLE = "benchmark_identity_expenses";
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    // Jobs started on boot must not reach a real mail server
+    @MockBean
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void batchedSequenceInsertsAgainstIdentityInserts() {
+        int rows = Integer.getInteger("expensemate.benchmark.rows", 100_000);
+        User owner = newUser();
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + IDENTITY_TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + IDENTITY_TABLE + " LIKE expenses");
+        jdbcTemplate.execute("ALTER TABLE " + IDENTITY_TABLE + " MODIFY id BIGINT NOT NULL AUTO_INCREMENT");
+
+        // Warm up both paths (JIT, connection pool, statement caches) before timing
+        insertIdentity(owner, Math.min(rows, 2_000));
+        insertBatched(owner, Math.min(rows, 2_000));
+        jdbcTemplate.execute("TRUNCATE TABLE " + IDENTITY_TABLE);
+        jdbcTemplate.update("DELETE FROM expenses WHERE user_id = ?", owner.getId());
+
+        long identityNanos = time(() -> insertIdentity(owner, rows));
+        long batchedNanos = time(() -> insertBatched(owner, rows));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + IDENTITY_TABLE, Long.class))
+            .isEqualTo(rows);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expenses WHERE user_id = ?", Long.class,
+            owner.getId())).isEqualTo(rows);
+
+        logger.info("Inserted {} expenses: IDENTITY {} rows/s ({} ms), batched sequence ids {} rows/s ({} ms), {}x",
+            rows, rowsPerSecond(rows, identityNanos), identityNanos / 1_000_000,
+            rowsPerSecond(rows, batchedNanos), batchedNanos / 1_000_000,
+            String.format("%.1f", (double) identityNanos / batchedNanos));
+    }
+
+    private void insertBatched(User owner, int rows) {
+        for (int from = 0; from < rows; from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(from + CHUNK_SIZE, rows);
+            transactionTemplate.executeWithoutResult(status -> {
+                User reference = entityManager.getReference(User.class, owner.getId());
+                List<Expense> chunk = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    chunk.add(newExpense(reference, i));
+                }
+                expenseRepository.saveAll(chunk);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private void insertIdentity(User owner, int rows) {
+        String sql = "INSERT INTO " + IDENTITY_TABLE + " (description, amount, category, expense_date, "
+            + "created_at, updated_at, notes, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        for (int from = 0; from < rows; from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(from + CHUNK_SIZE, rows);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = start; i < end; i++) {
+                    Expense expense = newExpense(owner, i);
+                    jdbcTemplate.update(connection -> {
+                        PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                        statement.setString(1, expense.getDescription());
+                        statement.setBigDecimal(2, expense.getAmount());
+                        statement.setString(3, expense.getCategory().name());
+                        statement.setDate(4, Date.valueOf(expense.getExpenseDate()));
+                        statement.setTimestamp(5, Timestamp.valueOf(expense.getCreatedAt()));
+                        statement.setTimestamp(6, Timestamp.valueOf(expense.getUpdatedAt()));
+                        statement.setString(7, expense.getNotes());
+                        statement.setLong(8, owner.getId());
+                        return statement;
+                    }, new GeneratedKeyHolder());
+                }
+            });
+        }
+    }
+
+    private static Expense newExpense(User owner, int i) {
+        Expense expense = new Expense("Benchmark expense " + i, new BigDecimal("12.34"),
+            Expense.Category.values()[i % Expense.Category.values().length], LocalDate.now().minusDays(i % 365), owner);
+        expense.setNotes("Imported row " + i);
+        expense.setCreatedAt(LocalDateTime.now());
+        expense.setUpdatedAt(LocalDateTime.now());
+        return expense;
+    }
+
+    private User newUser() {
+        String name = "bench-" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User(name, name + "@example.com", "{noop}secret", name, User.Role.USER));
+    }
+
+    private static long time(Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        return System.nanoTime() - start;
+    }
+
+    private static long rowsPerSecond(int rows, long nanos) {
+        return Math.round(rows / (nanos / 1e9));
+    }
+}
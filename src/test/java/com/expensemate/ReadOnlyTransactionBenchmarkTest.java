@@ -0,0 +1,224 @@
+package com.expensemate;
+
+import com.expensemate.entity.Badge;
+import com.expensemate.entity.Budget;
+import com.expensemate.entity.Expense;
+import com.expensemate.entity.User;
+import com.expensemate.repository.BadgeRepository;
+import com.expensemate.repository.BudgetRepository;
+import com.expensemate.repository.ExpenseRepository;
+import com.expensemate.repository.UserRepository;
+import com.expensemate.service.BadgeService;
+import com.expensemate.service.BudgetService;
+import com.expensemate.service.ExpenseService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * CPU time and heap allocation of the reports and dashboard reads in a
+ * read-only transaction against the same reads in a read-write one, which
+ * is how they ran before the query methods became readOnly: a read-write
+ * session keeps a snapshot of every loaded entity and dirty-checks them
+ * all when it flushes on commit.
+ *
+ * Each side runs the reads of the reports page and the dashboard sections
+ * on the test thread, in one transaction per iteration, so per-thread CPU
+ * time and allocated bytes capture all of the work. Flush and load counts
+ * come from the global Hibernate statistics, so a scheduled job running at
+ * the same time can add to them. Results are logged, nothing is asserted.
+ *
+ * Not part of the normal build. Needs Docker and is run with:
+ * mvn test -Dtest=ReadOnlyTransactionBenchmarkTest -Dexpensemate.benchmark=true [-Dexpensemate.benchmark.rows=10000]
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "expensemate.benchmark", matches = "true")
+class ReadOnlyTransactionBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadOnlyTransactionBenchmarkTest.class);
+
+    private static final int WARMUP_ITERATIONS = 5;
+
+    private static final int ITERATIONS = 20;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    // Jobs started on boot must not reach a real mail server
+    @MockBean
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BadgeRepository badgeRepository;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private BadgeService badgeService;
+
+    @Test
+    void reportAndDashboardReadsReadOnlyAgainstReadWrite() {
+        int rows = Integer.getInteger("expensemate.benchmark.rows", 10_000);
+        User owner = userWithHistory(rows);
+
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            readWrite.executeWithoutResult(status -> readReportsAndDashboard(owner));
+            readOnly.executeWithoutResult(status -> readReportsAndDashboard(owner));
+        }
+
+        Measurement readWriteCost = measure(readWrite, owner);
+        Measurement readOnlyCost = measure(readOnly, owner);
+
+        logger.info("Reports and dashboard reads over {} expenses, per iteration: "
+                + "read-write {} ms CPU, {} KB allocated, {} flushes; "
+                + "read-only {} ms CPU, {} KB allocated, {} flushes; {} entities loaded",
+            rows, readWriteCost.cpuMillis(), readWriteCost.allocatedKilobytes(), readWriteCost.flushes / ITERATIONS,
+            readOnlyCost.cpuMillis(), readOnlyCost.allocatedKilobytes(), readOnlyCost.flushes / ITERATIONS,
+            readOnlyCost.entityLoads / ITERATIONS);
+    }
+
+    /**
+     * The reads of the reports page followed by the dashboard sections
+     */
+    private void readReportsAndDashboard(User owner) {
+        expenseService.getCategoryWiseSpendingCurrentMonth(owner);
+        expenseService.getMonthlySpendingTrend(owner);
+        expenseService.getTopExpensesByAmount(owner, 10);
+        expenseService.getExpenseStats(owner);
+        budgetService.getBudgetStats(owner);
+
+        expenseService.getRecentExpenses(owner, 30);
+        budgetService.getCurrentMonthBudget(owner);
+        badgeService.getRecentBadgesByUser(owner, 30);
+        badgeService.getBadgeCount(owner);
+        badgeService.getTotalPoints(owner);
+        expenseService.getCategoryUsageStats(owner);
+    }
+
+    private Measurement measure(TransactionTemplate transaction, User owner) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        long flushesBefore = statistics.getFlushCount();
+        long loadsBefore = statistics.getEntityLoadCount();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            transaction.executeWithoutResult(status -> readReportsAndDashboard(owner));
+        }
+
+        return new Measurement(threads.getCurrentThreadCpuTime() - cpuBefore,
+            threads.getThreadAllocatedBytes(threadId) - allocatedBefore,
+            statistics.getFlushCount() - flushesBefore,
+            statistics.getEntityLoadCount() - loadsBefore);
+    }
+
+    private User userWithHistory(int rows) {
+        String name = "bench-" + UUID.randomUUID().toString().substring(0, 8);
+        User owner = userRepository.save(new User(name, name + "@example.com", "{noop}secret", name, User.Role.USER));
+
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            expenses.add(new Expense("Benchmark expense " + i, new BigDecimal("12.34"),
+                Expense.Category.values()[i % Expense.Category.values().length],
+                LocalDate.now().minusDays(i % 730), owner));
+            if (expenses.size() == 1_000) {
+                expenseRepository.saveAll(expenses);
+                expenses.clear();
+            }
+        }
+        expenseRepository.saveAll(expenses);
+
+        List<Budget> budgets = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            budgets.add(new Budget(new BigDecimal("500.00"), YearMonth.now().minusMonths(i), owner));
+        }
+        budgetRepository.saveAll(budgets);
+
+        List<Badge> badges = new ArrayList<>();
+        for (Badge.BadgeType type : Badge.BadgeType.values()) {
+            badges.add(new Badge(type, owner));
+        }
+        badgeRepository.saveAll(badges);
+
+        return owner;
+    }
+
+    private static class Measurement {
+        private final long cpuNanos;
+        private final long allocatedBytes;
+        private final long flushes;
+        private final long entityLoads;
+
+        Measurement(long cpuNanos, long allocatedBytes, long flushes, long entityLoads) {
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.flushes = flushes;
+            this.entityLoads = entityLoads;
+        }
+
+        long cpuMillis() {
+            return cpuNanos / ITERATIONS / 1_000_000;
+        }
+
+        long allocatedKilobytes() {
+            return allocatedBytes / ITERATIONS / 1024;
+        }
+    }
+}
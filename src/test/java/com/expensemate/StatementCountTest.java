@@ -0,0 +1,200 @@
+package com.expensemate;
+
+import com.expensemate.config.QueryMonitor;
+import com.expensemate.dto.AuthenticatedUser;
+import com.expensemate.entity.Badge;
+import com.expensemate.entity.Budget;
+import com.expensemate.entity.Expense;
+import com.expensemate.entity.User;
+import com.expensemate.repository.BadgeRepository;
+import com.expensemate.repository.BudgetRepository;
+import com.expensemate.repository.ExpenseRepository;
+import com.expensemate.repository.UserRepository;
+import com.expensemate.service.BadgeService;
+import com.expensemate.service.BudgetService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement counts of listing endpoints and batch job queries.
+ *
+ * Each check runs the same work against a small and a larger data set, or
+ * across many users, and fails if the number of statements grows with the
+ * rows returned (an N+1 on a lazy association). Statements are counted by
+ * QueryMonitor on the test thread, so scheduled jobs running in the
+ * background do not affect the counts.
+ *
+ * Runs against a throwaway MySQL container started by Testcontainers, so it
+ * needs a Docker daemon; it is skipped on machines without one.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class StatementCountTest {
+
+    private static final int FEW = 2;
+
+    private static final int MANY = 20;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    // Jobs started on boot must not reach a real mail server
+    @MockBean
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryMonitor queryMonitor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BadgeRepository badgeRepository;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private BadgeService badgeService;
+
+    @Test
+    void expenseListingDoesNotQueryPerExpense() throws Exception {
+        User few = userWithExpenses(FEW);
+        User many = userWithExpenses(MANY);
+
+        int fewStatements = countStatements("GET /api/v1/expenses", () -> getAs(few, "/api/v1/expenses"));
+        int manyStatements = countStatements("GET /api/v1/expenses", () -> getAs(many, "/api/v1/expenses"));
+
+        assertThat(manyStatements).isEqualTo(fewStatements);
+    }
+
+    @Test
+    void fullSyncDoesNotQueryPerRow() throws Exception {
+        User few = userWithExpenses(FEW);
+        User many = userWithExpenses(MANY);
+
+        int fewStatements = countStatements("GET /api/v1/sync", () -> getAs(few, "/api/v1/sync"));
+        int manyStatements = countStatements("GET /api/v1/sync", () -> getAs(many, "/api/v1/sync"));
+
+        assertThat(manyStatements).isEqualTo(fewStatements);
+    }
+
+    @Test
+    void budgetAlertJobLoadsOwnersWithBudgets() {
+        YearMonth month = YearMonth.now();
+        List<Budget> budgets = new ArrayList<>();
+        for (int i = 0; i < MANY; i++) {
+            Budget budget = new Budget(new BigDecimal("100.00"), month, newUser());
+            budget.setSpentAmount(new BigDecimal("95.00"));
+            budgets.add(budget);
+        }
+        budgetRepository.saveAll(budgets);
+
+        // The alert email reads the recipient from budget.getUser()
+        int statements = countStatements("budget alert job", () -> transactionTemplate.executeWithoutResult(status -> {
+            for (Budget budget : budgetService.getBudgetsNeedingAlert80()) {
+                budget.getUser().getEmail();
+            }
+        }));
+
+        assertThat(statements).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void recentBadgesJobLoadsOwnersWithBadges() {
+        List<Badge> badges = new ArrayList<>();
+        for (int i = 0; i < MANY; i++) {
+            badges.add(new Badge(Badge.BadgeType.values()[0], newUser()));
+        }
+        badgeRepository.saveAll(badges);
+
+        int statements = countStatements("recent badges job", () -> transactionTemplate.executeWithoutResult(status -> {
+            for (Badge badge : badgeService.getRecentlyEarnedBadges(1)) {
+                badge.getUser().getEmail();
+            }
+        }));
+
+        assertThat(statements).isLessThanOrEqualTo(1);
+    }
+
+    private int countStatements(String description, ThrowingRunnable work) {
+        QueryMonitor.RequestQueries queries = queryMonitor.startRequest(description);
+        try {
+            work.run();
+        } catch (Exception e) {
+            throw new IllegalStateException(description + " failed", e);
+        } finally {
+            queryMonitor.finishRequest(queries);
+        }
+        return queries.getStatementCount();
+    }
+
+    private void getAs(User owner, String path) throws Exception {
+        mockMvc.perform(get(path).with(user(AuthenticatedUser.from(owner))))
+            .andExpect(status().isOk());
+    }
+
+    private User userWithExpenses(int count) {
+        User owner = newUser();
+        List<Expense> expenses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            expenses.add(new Expense("Expense " + i, new BigDecimal("10.00"), Expense.Category.values()[0],
+                LocalDate.now().minusDays(i), owner));
+        }
+        expenseRepository.saveAll(expenses);
+        return owner;
+    }
+
+    private User newUser() {
+        String name = "stmt-" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User(name, name + "@example.com", "{noop}secret", name, User.Role.USER));
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
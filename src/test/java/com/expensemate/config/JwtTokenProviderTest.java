@@ -0,0 +1,241 @@
+package com.expensemate.config;
+
+import com.expensemate.config.JwtTokenProvider.InvalidTokenException;
+import com.expensemate.dto.AuthenticatedUser;
+import com.expensemate.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verification rules of JwtTokenProvider. Tokens with unusual headers or
+ * claims are built and signed here, so the checks do not depend on issue().
+ */
+class JwtTokenProviderTest {
+
+    private static final String ISSUER = "expensemate";
+
+    private static final String CURRENT_SECRET = secret('c');
+
+    private static final String PREVIOUS_SECRET = secret('p');
+
+    private static final Base64.Encoder base64Url = Base64.getUrlEncoder().withoutPadding();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AuthenticatedUser alice = new AuthenticatedUser(42L, "alice", "alice@example.com",
+        "Alice Example", "{bcrypt}hash", User.Role.USER, true);
+
+    @Test
+    void issuedTokenVerifiesWithoutPassword() {
+        JwtTokenProvider provider = provider("current", Map.of("current", CURRENT_SECRET));
+
+        AuthenticatedUser principal = provider.verify(provider.issue(alice));
+
+        assertThat(principal.getId()).isEqualTo(42L);
+        assertThat(principal.getUsername()).isEqualTo("alice");
+        assertThat(principal.getRole()).isEqualTo(User.Role.USER);
+        assertThat(principal.getPassword()).isNull();
+    }
+
+    @Test
+    void tokenSignedWithPreviousKeyVerifiesDuringRotation() {
+        JwtTokenProvider before = provider("previous", Map.of("previous", PREVIOUS_SECRET));
+        JwtTokenProvider after = provider("current", Map.of("current", CURRENT_SECRET, "previous", PREVIOUS_SECRET));
+
+        assertThat(after.verify(before.issue(alice)).getUsername()).isEqualTo("alice");
+    }
+
+    @Test
+    void tokenSignedWithRetiredKeyIsRejected() {
+        JwtTokenProvider before = provider("previous", Map.of("previous", PREVIOUS_SECRET));
+        JwtTokenProvider after = provider("current", Map.of("current", CURRENT_SECRET));
+
+        assertRejected(after, before.issue(alice), "Unknown signing key");
+    }
+
+    @Test
+    void unknownKeyIdIsRejected() {
+        String token = token(header("HS256", "other"), claims(Instant.now().plusSeconds(60)), CURRENT_SECRET);
+
+        assertRejected(provider("current", Map.of("current", CURRENT_SECRET)), token, "Unknown signing key");
+    }
+
+    @Test
+    void algorithmOtherThanHs256IsRejected() {
+        JwtTokenProvider provider = provider("current", Map.of("current", CURRENT_SECRET));
+        Map<String, Object> claims = claims(Instant.now().plusSeconds(60));
+
+        assertRejected(provider, token(header("HS512", "current"), claims, CURRENT_SECRET),
+            "Unsupported token algorithm");
+        assertRejected(provider, token(header("RS256", "current"), claims, CURRENT_SECRET),
+            "Unsupported token algorithm");
+    }
+
+    @Test
+    void unsignedTokenIsRejected() {
+        JwtTokenProvider provider = provider("current", Map.of("current", CURRENT_SECRET));
+        String signingInput = encode(header("none", "current")) + "." + encode(claims(Instant.now().plusSeconds(60)));
+
+        assertRejected(provider, signingInput + ".", "Malformed token");
+        assertRejected(provider, signingInput + "." + signature(signingInput, CURRENT_SECRET),
+            "Unsupported token algorithm");
+    }
+
+    @Test
+    void tokenSignedWithAnotherSecretIsRejected() {
+        String token = token(header("HS256", "current"), claims(Instant.now().plusSeconds(60)), secret('x'));
+
+        assertRejected(provider("current", Map.of("current", CURRENT_SECRET)), token, "Invalid token signature");
+    }
+
+    @Test
+    void tamperedClaimsAreRejected() {
+        JwtTokenProvider provider = provider("current", Map.of("current", CURRENT_SECRET));
+        String[] parts = provider.issue(alice).split("\\.");
+        Map<String, Object> claims = claims(Instant.now().plusSeconds(60));
+        claims.put("role", "ADMIN");
+
+        assertRejected(provider, parts[0] + "." + encode(claims) + "." + parts[2], "Invalid token signature");
+    }
+
+    @Test
+    void tokenFromAnotherIssuerIsRejected() {
+        Map<String, Object> claims = claims(Instant.now().plusSeconds(60));
+        claims.put("iss", "someone-else");
+
+        assertRejected(provider("current", Map.of("current", CURRENT_SECRET)),
+            token(header("HS256", "current"), claims, CURRENT_SECRET), "Token from another issuer");
+    }
+
+    @Test
+    void tokenExpiredWithinClockSkewIsAccepted() {
+        String token = token(header("HS256", "current"), claims(Instant.now().minusSeconds(10)), CURRENT_SECRET);
+
+        assertThat(provider("current", Map.of("current", CURRENT_SECRET)).verify(token).getUsername())
+            .isEqualTo("alice");
+    }
+
+    @Test
+    void tokenExpiredBeyondClockSkewIsRejected() {
+        String token = token(header("HS256", "current"), claims(Instant.now().minusSeconds(60)), CURRENT_SECRET);
+
+        assertRejected(provider("current", Map.of("current", CURRENT_SECRET)), token, "Token expired");
+    }
+
+    @Test
+    void tokenWithoutExpiryIsRejected() {
+        Map<String, Object> claims = claims(Instant.now());
+        claims.remove("exp");
+
+        assertRejected(provider("current", Map.of("current", CURRENT_SECRET)),
+            token(header("HS256", "current"), claims, CURRENT_SECRET), "Token expired");
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        JwtTokenProvider provider = provider("current", Map.of("current", CURRENT_SECRET));
+        String[] parts = provider.issue(alice).split("\\.");
+
+        assertRejected(provider, "not-a-token", "Malformed token");
+        assertRejected(provider, parts[0] + "." + parts[1], "Malformed token");
+        assertRejected(provider, "%%%." + parts[1] + "." + parts[2], "Malformed token");
+        assertRejected(provider, base64Url.encodeToString("{\"alg\":".getBytes(StandardCharsets.UTF_8))
+            + "." + parts[1] + "." + parts[2], "Malformed token");
+        assertRejected(provider, parts[0] + "." + parts[1] + ".%%%", "Malformed token signature");
+    }
+
+    @Test
+    void malformedClaimsAreRejected() {
+        JwtTokenProvider provider = provider("current", Map.of("current", CURRENT_SECRET));
+        String header = encode(header("HS256", "current"));
+        String claims = base64Url.encodeToString("not json".getBytes(StandardCharsets.UTF_8));
+
+        assertRejected(provider, header + "." + claims + "." + signature(header + "." + claims, CURRENT_SECRET),
+            "Malformed token");
+    }
+
+    @Test
+    void unknownRoleIsRejected() {
+        Map<String, Object> claims = claims(Instant.now().plusSeconds(60));
+        claims.put("role", "ROOT");
+
+        assertRejected(provider("current", Map.of("current", CURRENT_SECRET)),
+            token(header("HS256", "current"), claims, CURRENT_SECRET), "Invalid token claims");
+    }
+
+    @Test
+    void shortSecretIsRefused() {
+        String shortSecret = Base64.getEncoder().encodeToString(new byte[16]);
+
+        assertThatThrownBy(() -> provider("current", Map.of("current", shortSecret)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static JwtTokenProvider provider(String signingKeyId, Map<String, String> keys) {
+        return new JwtTokenProvider(ISSUER, Duration.ofMinutes(15), signingKeyId, keys);
+    }
+
+    private static void assertRejected(JwtTokenProvider provider, String token, String message) {
+        assertThatThrownBy(() -> provider.verify(token))
+            .isInstanceOf(InvalidTokenException.class)
+            .hasMessage(message);
+    }
+
+    private static String secret(char fill) {
+        return Base64.getEncoder().encodeToString(String.valueOf(fill).repeat(32).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Map<String, Object> header(String alg, String kid) {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", alg);
+        header.put("typ", "JWT");
+        header.put("kid", kid);
+        return header;
+    }
+
+    private static Map<String, Object> claims(Instant expiresAt) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", ISSUER);
+        claims.put("sub", "alice");
+        claims.put("uid", 42L);
+        claims.put("role", "USER");
+        claims.put("iat", expiresAt.minus(Duration.ofMinutes(15)).getEpochSecond());
+        claims.put("exp", expiresAt.getEpochSecond());
+        return claims;
+    }
+
+    private String token(Map<String, Object> header, Map<String, Object> claims, String secret) {
+        String signingInput = encode(header) + "." + encode(claims);
+        return signingInput + "." + signature(signingInput, secret);
+    }
+
+    private String encode(Map<String, Object> value) {
+        try {
+            return base64Url.encodeToString(objectMapper.writeValueAsBytes(value));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String signature(String signingInput, String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(Base64.getDecoder().decode(secret), "HmacSHA256"));
+            return base64Url.encodeToString(mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
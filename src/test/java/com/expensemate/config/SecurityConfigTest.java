@@ -0,0 +1,54 @@
+package com.expensemate.config;
+
+import com.expensemate.dto.AuthenticatedUser;
+import com.expensemate.entity.User;
+import com.expensemate.service.UserService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.RememberMeServices;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Principals stored in the session by SecurityConfig's login paths
+ */
+class SecurityConfigTest {
+
+    @Test
+    void rememberMeLoginKeepsPasswordHashOutOfTheSession() {
+        AuthenticatedUser alice = new AuthenticatedUser(42L, "alice", "alice@example.com", "Alice Example",
+            "{bcrypt}hash", User.Role.USER, true);
+        UserService userService = mock(UserService.class);
+        when(userService.loadUserByUsername("alice")).thenReturn(alice);
+
+        SecurityConfig config = new SecurityConfig();
+        ReflectionTestUtils.setField(config, "userService", userService);
+        RememberMeServices rememberMeServices = config.rememberMeServices();
+
+        // Form login with "remember me" ticked sets the cookie
+        MockHttpServletRequest loginRequest = new MockHttpServletRequest();
+        loginRequest.setParameter("remember-me", "true");
+        MockHttpServletResponse loginResponse = new MockHttpServletResponse();
+        rememberMeServices.loginSuccess(loginRequest, loginResponse,
+            new UsernamePasswordAuthenticationToken(alice, null, alice.getAuthorities()));
+        Cookie cookie = loginResponse.getCookie("remember-me");
+        assertThat(cookie).isNotNull();
+
+        // A later request without a session logs in from the cookie
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(cookie);
+        Authentication authentication = rememberMeServices.autoLogin(request, new MockHttpServletResponse());
+
+        assertThat(authentication).isNotNull();
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        assertThat(principal.getUsername()).isEqualTo("alice");
+        assertThat(principal.getPassword()).isNull();
+    }
+}
@@ -0,0 +1,136 @@
+package com.expensemate.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Incremental and rebuilt streak counting of SpendingStreak
+ */
+class SpendingStreakTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+
+    @Test
+    void consecutiveDaysExtendTheStreak() {
+        SpendingStreak streak = new SpendingStreak();
+
+        streak.recordLoggedDate(MONDAY);
+        streak.recordLoggedDate(MONDAY.plusDays(1));
+        streak.recordLoggedDate(MONDAY.plusDays(2));
+
+        assertThat(streak.getCurrentStreak()).isEqualTo(3);
+        assertThat(streak.getLongestStreak()).isEqualTo(3);
+        assertThat(streak.getLastLoggedDate()).isEqualTo(MONDAY.plusDays(2));
+    }
+
+    @Test
+    void gapStartsANewStreakAndKeepsTheLongest() {
+        SpendingStreak streak = streakOf(MONDAY, MONDAY.plusDays(1), MONDAY.plusDays(2));
+
+        streak.recordLoggedDate(MONDAY.plusDays(4));
+
+        assertThat(streak.getCurrentStreak()).isEqualTo(1);
+        assertThat(streak.getLongestStreak()).isEqualTo(3);
+    }
+
+    @Test
+    void duplicateDatesAreCountedOnce() {
+        SpendingStreak streak = new SpendingStreak();
+
+        streak.recordLoggedDate(MONDAY);
+        streak.recordLoggedDate(MONDAY);
+        streak.recordLoggedDate(MONDAY.plusDays(1));
+        streak.recordLoggedDate(MONDAY.plusDays(1));
+
+        assertThat(streak.getCurrentStreak()).isEqualTo(2);
+        assertThat(streak.getLongestStreak()).isEqualTo(2);
+    }
+
+    @Test
+    void recomputeIgnoresDuplicateDates() {
+        SpendingStreak streak = new SpendingStreak();
+
+        streak.recomputeFrom(List.of(MONDAY, MONDAY, MONDAY.plusDays(1), MONDAY.plusDays(1), MONDAY.plusDays(2)));
+
+        assertThat(streak.getCurrentStreak()).isEqualTo(3);
+        assertThat(streak.getLastLoggedDate()).isEqualTo(MONDAY.plusDays(2));
+    }
+
+    @Test
+    void emptyStreakNeverNeedsRecompute() {
+        assertThat(new SpendingStreak().needsRecompute(MONDAY)).isFalse();
+    }
+
+    @Test
+    void datesInsideOrAfterTheCurrentRunDoNotNeedRecompute() {
+        SpendingStreak streak = streakOf(MONDAY, MONDAY.plusDays(1), MONDAY.plusDays(2));
+
+        assertThat(streak.needsRecompute(MONDAY)).isFalse();
+        assertThat(streak.needsRecompute(MONDAY.plusDays(1))).isFalse();
+        assertThat(streak.needsRecompute(MONDAY.plusDays(3))).isFalse();
+    }
+
+    @Test
+    void backfilledEarlierDateNeedsRecompute() {
+        SpendingStreak streak = streakOf(MONDAY.minusDays(3), MONDAY.minusDays(2), MONDAY, MONDAY.plusDays(1));
+
+        assertThat(streak.needsRecompute(MONDAY.minusDays(1))).isTrue();
+
+        // Incremental recording cannot see the backfilled day
+        streak.recordLoggedDate(MONDAY.minusDays(1));
+        assertThat(streak.getCurrentStreak()).isEqualTo(2);
+    }
+
+    @Test
+    void recomputeJoinsRunsAcrossABackfilledDate() {
+        SpendingStreak streak = streakOf(MONDAY.minusDays(3), MONDAY.minusDays(2), MONDAY, MONDAY.plusDays(1));
+
+        streak.recomputeFrom(List.of(MONDAY.minusDays(3), MONDAY.minusDays(2), MONDAY.minusDays(1),
+                MONDAY, MONDAY.plusDays(1)));
+
+        assertThat(streak.getCurrentStreak()).isEqualTo(5);
+        assertThat(streak.getLongestStreak()).isEqualTo(5);
+        assertThat(streak.getLastLoggedDate()).isEqualTo(MONDAY.plusDays(1));
+    }
+
+    @Test
+    void anyDateAfterTheNightlyResetNeedsRecompute() {
+        SpendingStreak streak = streakOf(MONDAY, MONDAY.plusDays(1));
+        // The nightly job zeroes the count but keeps the last logged date
+        streak.setCurrentStreak(0);
+
+        assertThat(streak.needsRecompute(MONDAY.plusDays(5))).isTrue();
+        assertThat(streak.needsRecompute(MONDAY)).isTrue();
+    }
+
+    @Test
+    void recomputeAfterTheNightlyResetStartsANewRun() {
+        SpendingStreak streak = streakOf(MONDAY, MONDAY.plusDays(1));
+        streak.setCurrentStreak(0);
+
+        streak.recomputeFrom(List.of(MONDAY, MONDAY.plusDays(1), MONDAY.plusDays(5), MONDAY.plusDays(6)));
+
+        assertThat(streak.getCurrentStreak()).isEqualTo(2);
+        assertThat(streak.getLongestStreak()).isEqualTo(2);
+        assertThat(streak.getLastLoggedDate()).isEqualTo(MONDAY.plusDays(6));
+    }
+
+    @Test
+    void streakIsAliveUntilADayIsMissed() {
+        SpendingStreak streak = streakOf(MONDAY, MONDAY.plusDays(1));
+
+        assertThat(streak.getCurrentStreakAsOf(MONDAY.plusDays(1))).isEqualTo(2);
+        assertThat(streak.getCurrentStreakAsOf(MONDAY.plusDays(2))).isEqualTo(2);
+        assertThat(streak.getCurrentStreakAsOf(MONDAY.plusDays(3))).isZero();
+    }
+
+    private static SpendingStreak streakOf(LocalDate... dates) {
+        SpendingStreak streak = new SpendingStreak();
+        streak.recomputeFrom(List.of(dates));
+        return streak;
+    }
+}
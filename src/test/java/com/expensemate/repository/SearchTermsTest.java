@@ -0,0 +1,88 @@
+package com.expensemate.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parsing of search input into full-text and LIKE terms
+ */
+class SearchTermsTest {
+
+    @Test
+    void parseSplitsIntoLowerCaseTerms() {
+        assertThat(SearchTerms.parse("  Coffee   SHOP ")).containsExactly("coffee", "shop");
+    }
+
+    @Test
+    void parseStripsBooleanModeOperators() {
+        assertThat(SearchTerms.parse("+rent -deposit* \"car wash\" (tip) ~fee <gym >pool @home"))
+                .containsExactly("rent", "deposit", "car", "wash", "tip", "fee", "gym", "pool", "home");
+    }
+
+    @Test
+    void parseStripsLikeWildcards() {
+        assertThat(SearchTerms.parse("50% off_sale!")).containsExactly("50", "off", "sale");
+    }
+
+    @Test
+    void parseKeepsLettersAndDigitsOfOtherScripts() {
+        assertThat(SearchTerms.parse("Café Müller 2024")).containsExactly("café", "müller", "2024");
+    }
+
+    @Test
+    void parseOfBlankOrOperatorOnlyInputIsEmpty() {
+        assertThat(SearchTerms.parse(null)).isEmpty();
+        assertThat(SearchTerms.parse("   ")).isEmpty();
+        assertThat(SearchTerms.parse("+-*\"()")).isEmpty();
+    }
+
+    @Test
+    void parseLowerCasesIndependentlyOfDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr", "TR"));
+            assertThat(SearchTerms.parse("INSURANCE")).containsExactly("insurance");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void fullTextNeedsEveryTermAtLeastThreeCharacters() {
+        assertThat(SearchTerms.isFullTextSearchable(List.of("gym", "rent"))).isTrue();
+        assertThat(SearchTerms.isFullTextSearchable(List.of("gym", "tv"))).isFalse();
+        assertThat(SearchTerms.isFullTextSearchable(List.of())).isFalse();
+    }
+
+    @Test
+    void booleanModeQueryRequiresEveryTermAsPrefix() {
+        assertThat(SearchTerms.toBooleanModeQuery(List.of("gro", "market"))).isEqualTo("+gro* +market*");
+    }
+
+    @Test
+    void likePatternMatchesSubstring() {
+        assertThat(SearchTerms.toLikePattern("  Tv ")).isEqualTo("%tv%");
+    }
+
+    @Test
+    void likePatternEscapesWildcardsAndEscapeCharacter() {
+        assertThat(SearchTerms.toLikePattern("50%")).isEqualTo("%50!%%");
+        assertThat(SearchTerms.toLikePattern("a_b")).isEqualTo("%a!_b%");
+        assertThat(SearchTerms.toLikePattern("wow!")).isEqualTo("%wow!!%");
+    }
+
+    @Test
+    void likePatternLowerCasesIndependentlyOfDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr", "TR"));
+            assertThat(SearchTerms.toLikePattern("TIP")).isEqualTo("%tip%");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.expensemate.service;
+
+import com.expensemate.entity.SpendingStreak;
+import com.expensemate.entity.User;
+import com.expensemate.repository.ExpenseRepository;
+import com.expensemate.repository.SpendingStreakRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Date filtering of SpendingStreakService before the streak is updated
+ */
+@ExtendWith(MockitoExtension.class)
+class SpendingStreakServiceTest {
+
+    @Mock
+    private SpendingStreakRepository spendingStreakRepository;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @InjectMocks
+    private SpendingStreakService spendingStreakService;
+
+    private final LocalDate today = LocalDate.now();
+
+    private User user;
+
+    private SpendingStreak streak;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(7L);
+        streak = new SpendingStreak(user);
+    }
+
+    @Test
+    void futureDatesAreIgnored() {
+        spendingStreakService.recordExpenseDates(user, List.of(today.plusDays(1), today.plusDays(30)));
+
+        verifyNoInteractions(spendingStreakRepository, expenseRepository);
+    }
+
+    @Test
+    void futureDatesDoNotExtendTheStreak() {
+        when(spendingStreakRepository.findByUserForUpdate(user)).thenReturn(Optional.of(streak));
+
+        spendingStreakService.recordExpenseDates(user, List.of(today.minusDays(1), today, today.plusDays(1)));
+
+        assertThat(streak.getCurrentStreak()).isEqualTo(2);
+        assertThat(streak.getLastLoggedDate()).isEqualTo(today);
+    }
+
+    @Test
+    void duplicateDatesAreRecordedOnce() {
+        when(spendingStreakRepository.findByUserForUpdate(user)).thenReturn(Optional.of(streak));
+
+        spendingStreakService.recordExpenseDates(user, List.of(today, today.minusDays(1), today, today.minusDays(1)));
+
+        assertThat(streak.getCurrentStreak()).isEqualTo(2);
+        verify(expenseRepository, never()).findDistinctExpenseDates(any(), any());
+    }
+
+    @Test
+    void backfilledDateRebuildsFromExpenseDates() {
+        streak.recomputeFrom(List.of(today.minusDays(1), today));
+        when(spendingStreakRepository.findByUserForUpdate(user)).thenReturn(Optional.of(streak));
+        when(expenseRepository.findDistinctExpenseDates(user, today))
+                .thenReturn(List.of(today.minusDays(3), today.minusDays(2), today.minusDays(1), today));
+
+        spendingStreakService.recordExpenseDates(user, List.of(today.minusDays(2)));
+
+        assertThat(streak.getCurrentStreak()).isEqualTo(4);
+    }
+}